@@ -0,0 +1,318 @@
+package com.excel.shift.processor;
+
+import com.excel.shift.annotation.ExcelColumn;
+import com.excel.shift.annotation.ExcelSheet;
+import com.excel.shift.config.AnnotatedMappings;
+import com.excel.shift.config.ColumnConfig;
+import com.excel.shift.config.ExtractorConfig;
+import com.excel.shift.config.MappingProvider;
+import com.excel.shift.excel.RowMapper;
+import com.excel.shift.excel.RowMapperGenerator;
+import com.excel.shift.util.ExcelCoordConverter;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * 根据{@link ExcelSheet}/{@link ExcelColumn}注解在编译时生成代码：
+ * <ul>
+ *     <li>{@link MappingProvider}：直接构建提取器配置，运行时不解析配置文件、不反射读取注解</li>
+ *     <li>{@link RowMapper}（LIST类型）：按列顺序直接调用setter，与RowMapperGenerator生成的代码相同</li>
+ * </ul>
+ * 生成的类放在目标类所在的包中，并注册到META-INF/services。注解到配置的转换使用{@link AnnotatedMappings}，
+ * 与运行时读取注解得到的配置完全相同。
+ */
+@SupportedAnnotationTypes("com.excel.shift.annotation.ExcelSheet")
+public class ExcelMappingProcessor extends AbstractProcessor {
+
+    private final Set<String> providers = new LinkedHashSet<>();
+    private final Set<String> rowMappers = new LinkedHashSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(ExcelSheet.class)) {
+            if (element.getKind() != ElementKind.CLASS && element.getKind() != ElementKind.RECORD) {
+                error("@ExcelSheet只能标注在类或record上", element);
+                continue;
+            }
+            try {
+                generate((TypeElement) element);
+            } catch (IOException e) {
+                error("生成代码失败: " + e.getMessage(), element);
+            }
+        }
+        if (roundEnv.processingOver()) {
+            writeServiceFile(MappingProvider.class.getName(), providers);
+            writeServiceFile(RowMapper.class.getName(), rowMappers);
+        }
+        return true;
+    }
+
+    private void generate(TypeElement type) throws IOException {
+        if (type.getModifiers().contains(Modifier.PRIVATE)) {
+            error("@ExcelSheet标注的类不能是private", type);
+            return;
+        }
+        ExcelSheet sheet = type.getAnnotation(ExcelSheet.class);
+        List<ColumnConfig> columns = new ArrayList<>();
+        Map<String, VariableElement> fields = new LinkedHashMap<>();
+        int declarationIndex = 0;
+        boolean valid = true;
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            ExcelColumn column = field.getAnnotation(ExcelColumn.class);
+            if (column == null || field.getModifiers().contains(Modifier.STATIC)) {
+                continue;
+            }
+            try {
+                ExcelCoordConverter.columnNameToIndex(column.cell().trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                error("无效的列名[" + column.cell() + "]: " + e.getMessage(), field);
+                valid = false;
+            }
+            if (!column.pattern().isEmpty()) {
+                try {
+                    Pattern.compile(column.pattern());
+                } catch (PatternSyntaxException e) {
+                    error("无效的正则表达式[" + column.pattern() + "]: " + e.getDescription(), field);
+                    valid = false;
+                }
+            }
+            declarationIndex++;
+            String fieldName = field.getSimpleName().toString();
+            columns.add(AnnotatedMappings.columnConfig(fieldName, typeName(field.asType()), column, declarationIndex));
+            fields.put(fieldName, field);
+        }
+        if (!valid) {
+            return;
+        }
+
+        String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+        String flatName = packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1);
+        flatName = flatName.replace('$', '_');
+        String targetName = type.getQualifiedName().toString();
+        ExtractorConfig extractor = AnnotatedMappings.extractorConfig(sheet, binaryName,
+                type.getSimpleName().toString(), columns);
+
+        String providerName = flatName + "ExcelMapping";
+        writeSource(packageName, providerName, providerSource(packageName, providerName, targetName, extractor), type);
+        providers.add(qualify(packageName, providerName));
+
+        // record和没有无参构造函数的类通过构造函数创建，运行时使用通用行映射器
+        if (extractor.getResultType() == ExtractorConfig.ResultType.LIST && !columns.isEmpty() && hasNoArgConstructor(type)) {
+            List<ColumnConfig> ordered = new ArrayList<>(extractor.getTable().getColumns().values());
+            List<RowMapperGenerator.Setter> setters = new ArrayList<>();
+            for (ColumnConfig column : ordered) {
+                setters.add(findSetter(type, fields.get(column.getJavaFieldName()), packageName));
+            }
+            String mapperName = flatName + "RowMapper_" + RowMapperGenerator.identifier(extractor.getId());
+            String source = RowMapperGenerator.generateSource(packageName, mapperName, targetName, ordered, setters,
+                    "ExcelMappingProcessor根据" + targetName + "的注解");
+            writeSource(packageName, mapperName, source, type);
+            rowMappers.add(qualify(packageName, mapperName));
+        }
+    }
+
+    private static boolean hasNoArgConstructor(TypeElement type) {
+        if (type.getKind() == ElementKind.RECORD) {
+            return false;
+        }
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 字段的public setter，没有时返回null（运行时使用提取计划中的赋值器）
+     */
+    private RowMapperGenerator.Setter findSetter(TypeElement type, VariableElement field, String packageName) {
+        String name = field.getSimpleName().toString();
+        List<String> candidates = new ArrayList<>();
+        if (field.asType().getKind() == TypeKind.BOOLEAN && name.length() > 2 && name.startsWith("is")
+                && Character.isUpperCase(name.charAt(2))) {
+            candidates.add("set" + name.substring(2));
+        }
+        candidates.add("set" + Character.toUpperCase(name.charAt(0)) + name.substring(1));
+        List<ExecutableElement> methods = ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(type));
+        for (String candidate : candidates) {
+            for (ExecutableElement method : methods) {
+                if (method.getSimpleName().contentEquals(candidate)
+                        && method.getModifiers().contains(Modifier.PUBLIC)
+                        && !method.getModifiers().contains(Modifier.STATIC)
+                        && method.getParameters().size() == 1
+                        && processingEnv.getTypeUtils().isSameType(method.getParameters().get(0).asType(), field.asType())
+                        && accessible((TypeElement) method.getEnclosingElement(), packageName)) {
+                    return new RowMapperGenerator.Setter(candidate, valueTypeName(field.asType()),
+                            field.asType().getKind().isPrimitive() ? field.asType().toString() : null);
+                }
+            }
+        }
+        return null;
+    }
+
+    private boolean accessible(TypeElement declaringType, String packageName) {
+        PackageElement declaringPackage = processingEnv.getElementUtils().getPackageOf(declaringType);
+        return declaringType.getModifiers().contains(Modifier.PUBLIC)
+                || declaringPackage.getQualifiedName().contentEquals(packageName);
+    }
+
+    /**
+     * 与Class.getName()一致的类型名称：基本类型为关键字，其他为二进制名称
+     */
+    private String typeName(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return type.toString();
+        }
+        TypeMirror erasure = processingEnv.getTypeUtils().erasure(type);
+        if (erasure.getKind() == TypeKind.DECLARED) {
+            Element element = processingEnv.getTypeUtils().asElement(erasure);
+            return processingEnv.getElementUtils().getBinaryName((TypeElement) element).toString();
+        }
+        return erasure.toString();
+    }
+
+    /**
+     * 源码中instanceof使用的类型名称，基本类型为包装类型
+     */
+    private String valueTypeName(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return processingEnv.getTypeUtils().boxedClass((PrimitiveType) type)
+                    .getQualifiedName().toString();
+        }
+        return processingEnv.getTypeUtils().erasure(type).toString();
+    }
+
+    private String providerSource(String packageName, String className, String targetName, ExtractorConfig extractor) {
+        StringBuilder out = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            out.append("package ").append(packageName).append(";\n\n");
+        }
+        out.append("import com.excel.shift.config.ColumnConfig;\n");
+        out.append("import com.excel.shift.config.ExtractorConfig;\n");
+        out.append("import com.excel.shift.config.MappingProvider;\n");
+        out.append("import com.excel.shift.config.TableConfig;\n\n");
+        out.append("import java.util.LinkedHashMap;\n");
+        out.append("import java.util.Map;\n\n");
+        out.append("/**\n");
+        out.append(" * 由ExcelMappingProcessor根据").append(targetName).append("的注解生成，请勿手动修改\n");
+        out.append(" */\n");
+        out.append("public final class ").append(className).append(" implements MappingProvider {\n\n");
+        out.append("    @Override\n");
+        out.append("    public Class<?> getTargetClass() {\n");
+        out.append("        return ").append(targetName).append(".class;\n");
+        out.append("    }\n\n");
+        out.append("    @Override\n");
+        out.append("    public ExtractorConfig createExtractorConfig() {\n");
+        out.append("        Map<String, ColumnConfig> columns = new LinkedHashMap<>();\n");
+        for (ColumnConfig column : extractor.getTable().getColumns().values()) {
+            out.append("        columns.put(").append(string(column.getJavaFieldName())).append(", new ColumnConfig()");
+            setter(out, "setOrder", column.getOrder());
+            setter(out, "setJavaFieldName", string(column.getJavaFieldName()));
+            setter(out, "setJavaFieldType", string(column.getJavaFieldType()));
+            setter(out, "setColumnCell", string(column.getColumnCell()));
+            setter(out, "setRowCell", string(column.getRowCell()));
+            setter(out, "setIsMergeType", column.getIsMergeType());
+            setter(out, "setExtractPattern", string(column.getExtractPattern()));
+            setter(out, "setGroupRowIndex", column.getGroupRowIndex());
+            setter(out, "setDescription", string(column.getDescription()));
+            setter(out, "setUnit", string(column.getUnit()));
+            out.append(");\n");
+        }
+        out.append("        return new ExtractorConfig()");
+        setter(out, "setId", string(extractor.getId()));
+        setter(out, "setTargetClass", string(extractor.getTargetClass()));
+        setter(out, "setDescription", string(extractor.getDescription()));
+        setter(out, "setOrder", extractor.getOrder());
+        setter(out, "setResultType", "ExtractorConfig.ResultType." + extractor.getResultType().name());
+        setter(out, "setGroupRowCount", extractor.getGroupRowCount());
+        setter(out, "setStartRow", string(extractor.getStartRow()));
+        setter(out, "setEndRow", string(extractor.getEndRow()));
+        setter(out, "setStartColumn", string(extractor.getStartColumn()));
+        setter(out, "setTable", "new TableConfig().setColumns(columns)");
+        out.append(";\n");
+        out.append("    }\n");
+        out.append("}\n");
+        return out.toString();
+    }
+
+    /**
+     * 追加链式setter调用，值为null时不追加
+     */
+    private static void setter(StringBuilder out, String method, Object value) {
+        if (value != null) {
+            out.append("\n                .").append(method).append('(').append(value).append(')');
+        }
+    }
+
+    private static String string(String value) {
+        return value == null ? null : "\"" + RowMapperGenerator.literal(value) + "\"";
+    }
+
+    private static String qualify(String packageName, String className) {
+        return packageName.isEmpty() ? className : packageName + "." + className;
+    }
+
+    private void writeSource(String packageName, String className, String source, TypeElement origin) throws IOException {
+        JavaFileObject file = processingEnv.getFiler().createSourceFile(qualify(packageName, className), origin);
+        try (Writer writer = file.openWriter()) {
+            writer.write(source);
+        }
+    }
+
+    private void writeServiceFile(String service, Set<String> classNames) {
+        if (classNames.isEmpty()) {
+            return;
+        }
+        try {
+            FileObject file = processingEnv.getFiler()
+                    .createResource(StandardLocation.CLASS_OUTPUT, "", "META-INF/services/" + service);
+            try (Writer writer = file.openWriter()) {
+                for (String className : classNames) {
+                    writer.write(className);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "写入" + service + "失败: " + e.getMessage());
+        }
+    }
+
+    private void error(String message, Element element) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
@@ -0,0 +1,100 @@
+package com.excel.shift.excel;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 一行数据（创建对象 + 6个字段赋值）的绑定开销对比：
+ * <ul>
+ *     <li>reflectivePerCell：原来的做法，每个单元格getDeclaredField + setAccessible + Field.set</li>
+ *     <li>cachedReflection：缓存Field和Constructor，仍然通过反射调用</li>
+ *     <li>binder：{@link BeanBinder}生成的构造函数和setter</li>
+ * </ul>
+ * 运行：mvn -Pbenchmark package &amp;&amp; java -cp target/ExcelShift-1.0-SNAPSHOT-shaded.jar org.openjdk.jmh.Main BeanBinderBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class BeanBinderBenchmark {
+
+    private static final String[] FIELD_NAMES = {"name", "count", "total", "amount", "date", "enabled"};
+
+    private Object[] values;
+    private Constructor<?> constructor;
+    private Field[] fields;
+    private BeanBinder binder;
+    private BeanBinder.FieldSetter[] setters;
+
+    @Setup
+    public void setup() throws Exception {
+        values = new Object[]{"设备A", 12, 345L, new BigDecimal("67.80"), LocalDate.of(2024, 5, 1), Boolean.TRUE};
+        constructor = RowBean.class.getDeclaredConstructor();
+        fields = new Field[FIELD_NAMES.length];
+        binder = BeanBinder.of(RowBean.class);
+        setters = new BeanBinder.FieldSetter[FIELD_NAMES.length];
+        for (int i = 0; i < FIELD_NAMES.length; i++) {
+            fields[i] = RowBean.class.getDeclaredField(FIELD_NAMES[i]);
+            fields[i].setAccessible(true);
+            setters[i] = binder.setter(fields[i]);
+        }
+    }
+
+    @Benchmark
+    public Object reflectivePerCell() throws Exception {
+        Object bean = RowBean.class.getDeclaredConstructor().newInstance();
+        for (int i = 0; i < FIELD_NAMES.length; i++) {
+            Field field = RowBean.class.getDeclaredField(FIELD_NAMES[i]);
+            field.setAccessible(true);
+            field.set(bean, values[i]);
+        }
+        return bean;
+    }
+
+    @Benchmark
+    public Object cachedReflection() throws Exception {
+        Object bean = constructor.newInstance();
+        for (int i = 0; i < fields.length; i++) {
+            fields[i].set(bean, values[i]);
+        }
+        return bean;
+    }
+
+    @Benchmark
+    public Object binder() throws Exception {
+        Object bean = binder.newInstance();
+        for (int i = 0; i < setters.length; i++) {
+            setters[i].set(bean, values[i]);
+        }
+        return bean;
+    }
+
+    @Data
+    @Accessors(chain = true)
+    public static class RowBean {
+        private String name;
+        private int count;
+        private Long total;
+        private BigDecimal amount;
+        private LocalDate date;
+        private boolean enabled;
+    }
+}
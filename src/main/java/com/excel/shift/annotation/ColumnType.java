@@ -0,0 +1,34 @@
+package com.excel.shift.annotation;
+
+/**
+ * {@link ExcelColumn}的值类型，对应配置文件中的javaFieldType
+ */
+public enum ColumnType {
+    /**
+     * 根据字段类型确定
+     */
+    AUTO(null),
+    STRING("String"),
+    INTEGER("Integer"),
+    LONG("Long"),
+    FLOAT("Float"),
+    DOUBLE("Double"),
+    BOOLEAN("Boolean"),
+    BIG_DECIMAL("BigDecimal"),
+    DATE("Date"),
+    LOCAL_DATE("LocalDate"),
+    LOCAL_DATE_TIME("LocalDateTime");
+
+    private final String javaFieldType;
+
+    ColumnType(String javaFieldType) {
+        this.javaFieldType = javaFieldType;
+    }
+
+    /**
+     * 配置中的javaFieldType，AUTO返回null
+     */
+    public String getJavaFieldType() {
+        return javaFieldType;
+    }
+}
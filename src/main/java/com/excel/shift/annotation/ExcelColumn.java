@@ -0,0 +1,56 @@
+package com.excel.shift.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 标注表格列对应的字段，相当于配置文件中table.columns的一项
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface ExcelColumn {
+
+    /**
+     * 列名，例如"E"
+     */
+    String cell();
+
+    /**
+     * 值类型，默认根据字段类型确定
+     */
+    ColumnType type() default ColumnType.AUTO;
+
+    /**
+     * 是否合并单元格列，为空时向上查找非空值
+     */
+    boolean merge() default false;
+
+    /**
+     * 提取值的正则表达式，有分组时取第一个分组
+     */
+    String pattern() default "";
+
+    /**
+     * VERTICAL_LIST中字段所在的行（从1开始）
+     */
+    String row() default "";
+
+    /**
+     * GROUP_LIST中从组内第几行取值（从1开始），默认第1行
+     */
+    int groupRow() default 0;
+
+    /**
+     * 列顺序，默认按字段声明顺序
+     * 运行时读取注解时声明顺序依赖JVM返回字段的顺序（规范不保证，HotSpot为源码顺序），需要确定的顺序时请显式指定
+     */
+    int order() default 0;
+
+    String description() default "";
+
+    String unit() default "";
+}
@@ -0,0 +1,63 @@
+package com.excel.shift.annotation;
+
+import com.excel.shift.config.ExtractorConfig;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 标注目标类，相当于配置文件中的一个提取器
+ * <p>
+ * 表格列使用{@link ExcelColumn}标注在字段上。配置ExcelShift-processor注解处理器后，编译时会生成提取器配置和行映射器，
+ * 运行时不解析配置文件、不反射读取注解；未配置注解处理器时，{@link com.excel.shift.config.ExcelMappingConfig#fromAnnotatedClasses}
+ * 在运行时读取注解得到相同的配置。
+ * <pre>
+ * &#64;ExcelSheet(startRow = "3")
+ * public class MudGeoOilgasShow {
+ *     &#64;ExcelColumn(cell = "E", type = ColumnType.DOUBLE, merge = true)
+ *     private Double topDepth;
+ * }
+ * </pre>
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface ExcelSheet {
+
+    /**
+     * 提取器id，默认为类的简单名称
+     */
+    String id() default "";
+
+    /**
+     * 提取器顺序，默认为类在类列表中的位置
+     */
+    int order() default 0;
+
+    String description() default "";
+
+    ExtractorConfig.ResultType resultType() default ExtractorConfig.ResultType.LIST;
+
+    /**
+     * 开始行（从1开始），支持与配置文件相同的表达式
+     */
+    String startRow() default "2";
+
+    /**
+     * 结束行，默认到最后一行有数据的行
+     */
+    String endRow() default "";
+
+    /**
+     * 开始列，默认为A列
+     */
+    String startColumn() default "";
+
+    /**
+     * GROUP_LIST中每组的行数，默认不设置
+     */
+    int groupRowCount() default 0;
+}
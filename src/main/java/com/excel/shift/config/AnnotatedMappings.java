@@ -0,0 +1,151 @@
+package com.excel.shift.config;
+
+import com.excel.shift.annotation.ExcelColumn;
+import com.excel.shift.annotation.ExcelSheet;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+/**
+ * 根据{@link ExcelSheet}/{@link ExcelColumn}注解得到提取器配置
+ * <p>
+ * 优先使用注解处理器生成的{@link MappingProvider}；没有生成时在运行时读取注解。
+ * 注解到配置的转换规则只在这里定义，注解处理器生成代码时也调用这里的方法，两种方式使用相同的规则。
+ * 未指定列顺序的字段按声明顺序排列，运行时读取注解时声明顺序来自{@link Class#getDeclaredFields()}，
+ * 规范不保证它的顺序（HotSpot按源码顺序返回），需要确定的列顺序时应在注解中显式指定order。
+ */
+@Slf4j
+public final class AnnotatedMappings {
+
+    // 目标类 -> 生成的配置
+    private static final ClassValue<Optional<MappingProvider>> PROVIDERS = new ClassValue<>() {
+        @Override
+        protected Optional<MappingProvider> computeValue(Class<?> type) {
+            return loadProvider(type);
+        }
+    };
+
+    private AnnotatedMappings() {
+    }
+
+    /**
+     * 类列表中每个类的提取器配置，未在注解中指定顺序的提取器按类在列表中的位置排序
+     *
+     * @param classList 标注了{@link ExcelSheet}的类
+     */
+    static List<ExtractorConfig> forClasses(List<Class<?>> classList) {
+        List<ExtractorConfig> extractors = new ArrayList<>();
+        for (int i = 0; i < classList.size(); i++) {
+            Class<?> clazz = classList.get(i);
+            Optional<MappingProvider> provider = PROVIDERS.get(clazz);
+            ExtractorConfig extractor = provider.isPresent()
+                    ? provider.get().createExtractorConfig()
+                    : readAnnotations(clazz);
+            if (extractor.getOrder() == null) {
+                extractor.setOrder(i + 1);
+            }
+            extractors.add(extractor);
+        }
+        extractors.sort(Comparator.comparing(ExtractorConfig::getOrder));
+        return extractors;
+    }
+
+    /**
+     * 类注解对应的提取器配置
+     *
+     * @param sheet           类上的注解
+     * @param targetClassName 类的全限定名
+     * @param simpleName      类的简单名称，未指定id时作为id
+     * @param columns         字段注解对应的列配置
+     */
+    public static ExtractorConfig extractorConfig(ExcelSheet sheet, String targetClassName, String simpleName,
+                                                  List<ColumnConfig> columns) {
+        Map<String, ColumnConfig> columnMap = new LinkedHashMap<>();
+        columns.stream()
+                .sorted(Comparator.comparing(ColumnConfig::getOrder))
+                .forEach(column -> columnMap.put(column.getJavaFieldName(), column));
+        return new ExtractorConfig()
+                .setId(sheet.id().isEmpty() ? simpleName : sheet.id())
+                .setTargetClass(targetClassName)
+                .setDescription(emptyToNull(sheet.description()))
+                .setOrder(sheet.order() == 0 ? null : sheet.order())
+                .setResultType(sheet.resultType())
+                .setGroupRowCount(sheet.groupRowCount() == 0 ? null : sheet.groupRowCount())
+                .setStartRow(emptyToNull(sheet.startRow()))
+                .setEndRow(emptyToNull(sheet.endRow()))
+                .setStartColumn(emptyToNull(sheet.startColumn()))
+                .setTable(new TableConfig().setColumns(columnMap));
+    }
+
+    /**
+     * 字段注解对应的列配置
+     *
+     * @param fieldName        字段名
+     * @param fieldTypeName    字段类型名称（基本类型为关键字，其他为全限定名），值类型为AUTO时使用
+     * @param column           字段上的注解
+     * @param declarationIndex 字段在类中的声明顺序（从1开始），未指定列顺序时使用
+     */
+    public static ColumnConfig columnConfig(String fieldName, String fieldTypeName, ExcelColumn column,
+                                            int declarationIndex) {
+        String javaFieldType = column.type().getJavaFieldType();
+        return new ColumnConfig()
+                .setOrder(column.order() == 0 ? declarationIndex : column.order())
+                .setJavaFieldName(fieldName)
+                .setJavaFieldType(javaFieldType != null ? javaFieldType : fieldTypeName)
+                .setColumnCell(column.cell().trim().toUpperCase())
+                .setRowCell(emptyToNull(column.row()))
+                .setIsMergeType(column.merge())
+                .setExtractPattern(emptyToNull(column.pattern()))
+                .setGroupRowIndex(column.groupRow() == 0 ? null : column.groupRow())
+                .setDescription(emptyToNull(column.description()))
+                .setUnit(emptyToNull(column.unit()));
+    }
+
+    /**
+     * 运行时读取注解
+     * 声明顺序取自getDeclaredFields()的返回顺序，在HotSpot上与注解处理器使用的源码顺序一致
+     */
+    private static ExtractorConfig readAnnotations(Class<?> clazz) {
+        ExcelSheet sheet = clazz.getAnnotation(ExcelSheet.class);
+        if (sheet == null) {
+            throw new IllegalArgumentException("类" + clazz.getName() + "没有@ExcelSheet注解");
+        }
+        List<ColumnConfig> columns = new ArrayList<>();
+        int declarationIndex = 0;
+        for (Field field : clazz.getDeclaredFields()) {
+            ExcelColumn column = field.getAnnotation(ExcelColumn.class);
+            if (column == null || Modifier.isStatic(field.getModifiers())) {
+                continue;
+            }
+            declarationIndex++;
+            columns.add(columnConfig(field.getName(), field.getType().getName(), column, declarationIndex));
+        }
+        return extractorConfig(sheet, clazz.getName(), clazz.getSimpleName(), columns);
+    }
+
+    private static Optional<MappingProvider> loadProvider(Class<?> type) {
+        try {
+            for (MappingProvider provider : ServiceLoader.load(MappingProvider.class, type.getClassLoader())) {
+                if (provider.getTargetClass() == type) {
+                    return Optional.of(provider);
+                }
+            }
+        } catch (ServiceConfigurationError e) {
+            log.warn("加载生成的提取器配置失败，类{}在运行时读取注解: {}", type.getName(), e.getMessage());
+        }
+        return Optional.empty();
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+}
@@ -2,9 +2,11 @@ package com.excel.shift.config;
 
 import com.alibaba.fastjson.JSON;
 import com.alibaba.fastjson.JSONObject;
+import com.excel.shift.util.ExcelCoordConverter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.IOUtils;
 import org.dromara.hutool.core.collection.CollUtil;
+import org.dromara.hutool.core.util.BooleanUtil;
 
 import java.io.File;
 import java.io.FileInputStream;
@@ -85,6 +87,18 @@ public class ExcelMappingConfig {
         return excelMappingConfig;
     }
 
+    /**
+     * 根据目标类上的{@link com.excel.shift.annotation.ExcelSheet}/{@link com.excel.shift.annotation.ExcelColumn}注解构建配置
+     * 使用了ExcelShift-processor注解处理器时直接使用编译时生成的配置，否则在运行时读取注解
+     *
+     * @param classList 标注了@ExcelSheet的类
+     */
+    public static ExcelMappingConfig fromAnnotatedClasses(List<Class<?>> classList) {
+        ExcelMappingConfig excelMappingConfig = new ExcelMappingConfig();
+        excelMappingConfig.extractors = AnnotatedMappings.forClasses(classList);
+        return excelMappingConfig;
+    }
+
     /**
      * 加载配置文件
      *
@@ -159,6 +173,121 @@ public class ExcelMappingConfig {
                 .orElse(null);
     }
 
+    /**
+     * 计算所有提取器引用到的列索引（0-based）
+     * 包括表格列的columnCell和alternativeColumnCell、字段的excelCell、开始/结束标志的columnCell
+     *
+     * @return 引用到的列索引集合；返回null表示需要保留所有列（存在VERTICAL_LIST提取器，或有无法确定列的配置）
+     */
+    public Set<Integer> getReferencedColumns() {
+        Set<Integer> columns = new TreeSet<>();
+        for (ExtractorConfig extractor : extractors) {
+            // 纵向表格按列遍历，需要所有列
+            if (extractor.getResultType() == ExtractorConfig.ResultType.VERTICAL_LIST) {
+                return null;
+            }
+            List<String> columnNames = new ArrayList<>();
+            if (extractor.getFields() != null) {
+                for (FieldConfig field : extractor.getFields().values()) {
+                    // 去掉${}表达式和行号，只保留列字母
+                    columnNames.add(field.getExcelCell() == null ? null
+                            : field.getExcelCell().replaceAll("\\$\\{[^}]*}", "").replaceAll("[^A-Za-z]", ""));
+                }
+            }
+            if (extractor.getTable() != null && extractor.getTable().getColumns() != null) {
+                for (ColumnConfig column : extractor.getTable().getColumns().values()) {
+                    columnNames.add(column.getColumnCell());
+                    if (column.getAlternativeColumnCell() != null) {
+                        columnNames.addAll(column.getAlternativeColumnCell());
+                    }
+                }
+            }
+            if (extractor.getStartFlag() != null) {
+                columnNames.add(extractor.getStartFlag().getColumnCell());
+            }
+            if (extractor.getEndFlag() != null) {
+                columnNames.add(extractor.getEndFlag().getColumnCell());
+            }
+            for (String columnName : columnNames) {
+                try {
+                    columns.add(ExcelCoordConverter.columnNameToIndex(columnName));
+                } catch (IllegalArgumentException e) {
+                    log.debug("提取器[{}]的列[{}]无法确定，保留所有列", extractor.getId(), columnName);
+                    return null;
+                }
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * 计算所有提取器需要读取的行范围
+     * 依赖endFlag结束的表格范围一直延续到结束标志出现为止
+     *
+     * @return 行范围；返回null表示需要读取所有行（存在${}表达式、动态字段、未指定结束行等无法预先确定范围的配置）
+     */
+    public RowBands getRequiredRowBands() {
+        RowBands rowBands = new RowBands();
+        for (ExtractorConfig extractor : extractors) {
+            // 表达式依赖其他提取器解析后的位置，无法预先确定
+            if (BooleanUtil.isTrue(extractor.getIsDynamic())) {
+                return null;
+            }
+            if (extractor.getFields() != null) {
+                for (FieldConfig field : extractor.getFields().values()) {
+                    if (BooleanUtil.isTrue(field.getIsDynamic()) || field.getExcelCell() == null
+                            || !field.getExcelCell().matches("[A-Za-z]+\\d+")) {
+                        return null;
+                    }
+                    int row = ExcelCoordConverter.excelCoordToPosition(field.getExcelCell()).row;
+                    rowBands.addBand(row, row);
+                }
+            }
+            TableConfig table = extractor.getTable();
+            if (table == null || table.getColumns() == null) {
+                continue;
+            }
+            if (table.getColumns().values().stream().anyMatch(column -> BooleanUtil.isTrue(column.getIsDynamic()))) {
+                return null;
+            }
+            boolean flagRows = BooleanUtil.isTrue(extractor.getIsDynamicRows());
+            int fromRow;
+            if ((flagRows && extractor.getStartFlag() != null) || extractor.getStartRow() == null) {
+                fromRow = 0;
+            } else if (isStaticRow(extractor.getStartRow())) {
+                fromRow = Integer.parseInt(extractor.getStartRow()) - 1;
+            } else {
+                return null;
+            }
+            int toRow;
+            if (flagRows && extractor.getEndFlag() != null) {
+                toRow = Integer.MAX_VALUE;
+            } else if (isStaticRow(extractor.getEndRow())) {
+                toRow = Integer.parseInt(extractor.getEndRow()) - 1;
+            } else {
+                // 未指定结束行时需要自动查找最后一行
+                return null;
+            }
+            // GROUP_LIST的合并单元格会读取相邻行，前后各多保留一行
+            rowBands.addBand(fromRow - 1, toRow == Integer.MAX_VALUE ? toRow : toRow + 1);
+            for (ColumnConfig column : table.getColumns().values()) {
+                if (column.getRowCell() == null) {
+                    continue;
+                }
+                if (!isStaticRow(column.getRowCell())) {
+                    return null;
+                }
+                int row = Integer.parseInt(column.getRowCell()) - 1;
+                rowBands.addBand(row, row);
+            }
+        }
+        return rowBands;
+    }
+
+    private boolean isStaticRow(String rowStr) {
+        return rowStr != null && rowStr.matches("\\d+");
+    }
+
     /**
      * 处理提取器配置
      */
@@ -0,0 +1,18 @@
+package com.excel.shift.config;
+
+/**
+ * 目标类的提取器配置，由ExcelShift-processor注解处理器根据{@link com.excel.shift.annotation.ExcelSheet}生成，
+ * 通过ServiceLoader注册，运行时不需要解析配置文件或反射读取注解
+ */
+public interface MappingProvider {
+
+    /**
+     * 目标类
+     */
+    Class<?> getTargetClass();
+
+    /**
+     * 创建提取器配置，每次调用返回新的对象
+     */
+    ExtractorConfig createExtractorConfig();
+}
@@ -0,0 +1,54 @@
+package com.excel.shift.config;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 读取sheet时需要的行范围（0-based，闭区间）
+ * 由所有提取器的startRow/endRow、字段的excelCell行、纵向表格的rowCell行合并得到，
+ * 不在任何范围内的行在读取时直接丢弃，读过最后一个需要的行后即可停止解析
+ */
+public class RowBands {
+
+    private final List<int[]> bands = new ArrayList<>();
+
+    // 所有固定范围中最大的结束行，依赖endFlag结束的表格不参与计算
+    private int lastRow = -1;
+
+    /**
+     * 添加一个行范围
+     *
+     * @param fromRow 开始行（0-based，包含）
+     * @param toRow   结束行（0-based，包含），Integer.MAX_VALUE表示直到结束标志出现
+     */
+    void addBand(int fromRow, int toRow) {
+        bands.add(new int[]{Math.max(fromRow, 0), toRow});
+        if (toRow != Integer.MAX_VALUE) {
+            lastRow = Math.max(lastRow, toRow);
+        }
+    }
+
+    /**
+     * 该行是否落在任一需要的范围内
+     */
+    public boolean contains(int rowIndex) {
+        for (int[] band : bands) {
+            if (rowIndex >= band[0] && rowIndex <= band[1]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 固定范围中最后一个需要的行（0-based），没有固定范围时为-1
+     */
+    public int getLastRow() {
+        return lastRow;
+    }
+
+    public List<int[]> getBands() {
+        return Collections.unmodifiableList(bands);
+    }
+}
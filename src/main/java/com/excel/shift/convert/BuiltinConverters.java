@@ -0,0 +1,200 @@
+package com.excel.shift.convert;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Date;
+
+/**
+ * 内置的类型转换器，都继承{@link ResultConverter}，格式错误时返回失败原因而不抛异常
+ */
+final class BuiltinConverters {
+
+    static final TypeConverter<String> STRING = new ResultConverter<>() {
+        @Override
+        public ConversionResult convert(String value, String pattern, ConversionResult result) {
+            return result.success(value);
+        }
+    };
+
+    // 数值由NumberScanner直接从文本扫描：跳过千分位分隔符和单位文字，小数部分对整数类型向零截断；
+    // 结果保存为基本类型的值，基本类型字段不装箱。数值单元格的原始值直接使用（整数类型同样向零截断）
+    static final TypeConverter<Integer> INTEGER = new ResultConverter<>() {
+        @Override
+        public ConversionResult convert(String value, String pattern, ConversionResult result) {
+            long scanned = NumberScanner.parseInt(value);
+            if (scanned != NumberScanner.NO_LONG) return result.successInt((int) scanned);
+            // 没有数字的文本（如"无"）视为空值；含'-'的（如"-"）与parseInt一样是格式错误
+            if (!NumberScanner.hasDigit(value) && value.indexOf('-') < 0) return result.success(null);
+            return invalidNumber(value, result);
+        }
+
+        @Override
+        public ConversionResult convertNumber(double number, String value, String pattern, ConversionResult result) {
+            // 超出范围时按文本转换，错误信息与之前相同
+            if (number > Integer.MIN_VALUE - 1.0 && number < Integer.MAX_VALUE + 1.0) {
+                return result.successInt((int) number);
+            }
+            return convert(value, pattern, result);
+        }
+    };
+
+    static final TypeConverter<Long> LONG = new ResultConverter<>() {
+        @Override
+        public ConversionResult convert(String value, String pattern, ConversionResult result) {
+            long scanned = NumberScanner.parseLong(value);
+            if (scanned != NumberScanner.NO_LONG) return result.successLong(scanned);
+            if (!NumberScanner.hasDigit(value) && value.indexOf('-') < 0) return result.success(null);
+            return invalidNumber(value, result);
+        }
+
+        @Override
+        public ConversionResult convertNumber(double number, String value, String pattern, ConversionResult result) {
+            if (number >= -0x1p63 && number < 0x1p63) {
+                return result.successLong((long) number);
+            }
+            return convert(value, pattern, result);
+        }
+    };
+
+    static final TypeConverter<Float> FLOAT = new ResultConverter<>() {
+        @Override
+        public ConversionResult convert(String value, String pattern, ConversionResult result) {
+            float scanned = NumberScanner.parseFloat(value);
+            if (!Float.isNaN(scanned)) return result.successFloat(scanned);
+            if (value.equals("-")) return result.success(null);
+            return invalidNumber(value, result);
+        }
+
+        @Override
+        public ConversionResult convertNumber(double number, String value, String pattern, ConversionResult result) {
+            return result.successFloat((float) number);
+        }
+    };
+
+    static final TypeConverter<Double> DOUBLE = new ResultConverter<>() {
+        @Override
+        public ConversionResult convert(String value, String pattern, ConversionResult result) {
+            double scanned = NumberScanner.parseDouble(value);
+            if (!Double.isNaN(scanned)) return result.successDouble(scanned);
+            if (value.equals("-")) return result.success(null);
+            return invalidNumber(value, result);
+        }
+
+        @Override
+        public ConversionResult convertNumber(double number, String value, String pattern, ConversionResult result) {
+            return result.successDouble(number);
+        }
+    };
+
+    static final TypeConverter<Boolean> BOOLEAN = new ResultConverter<>() {
+        @Override
+        public ConversionResult convert(String value, String pattern, ConversionResult result) {
+            return result.successBoolean(Boolean.parseBoolean(value) ||
+                    "是".equals(value) ||
+                    "yes".equalsIgnoreCase(value) ||
+                    "true".equalsIgnoreCase(value) ||
+                    "1".equals(value));
+        }
+    };
+
+    // 先检查文本是否是BigDecimal的格式，只有指数超出范围这种少见情况才由构造方法抛出异常
+    static final TypeConverter<BigDecimal> BIG_DECIMAL = new ResultConverter<>() {
+        @Override
+        public ConversionResult convert(String value, String pattern, ConversionResult result) {
+            if (!isDecimal(value)) {
+                return invalidNumber(value, result);
+            }
+            try {
+                return result.success(new BigDecimal(value));
+            } catch (NumberFormatException e) {
+                return result.invalidNumber(e.getMessage());
+            }
+        }
+
+        @Override
+        public ConversionResult convertNumber(double number, String value, String pattern, ConversionResult result) {
+            return result.success(BigDecimal.valueOf(number));
+        }
+    };
+
+    // 默认返回 java.util.Date；日期转换器按列创建实例，见DateConverters
+    static final TypeConverter<Date> DATE = new DateConverters.UtilDateConverter();
+
+    static final TypeConverter<LocalDate> LOCAL_DATE = new DateConverters.LocalDateConverter();
+
+    static final TypeConverter<LocalDateTime> LOCAL_DATE_TIME = new DateConverters.LocalDateTimeConverter();
+
+    private BuiltinConverters() {
+    }
+
+    /**
+     * 与Integer.parseInt、Double.parseDouble相同的错误信息
+     */
+    private static ConversionResult invalidNumber(String value, ConversionResult result) {
+        return result.invalidNumber("For input string: \"" + value + "\"");
+    }
+
+    /**
+     * 是否是new BigDecimal(String)接受的格式：[+-]数字[.数字][e[+-]数字]，整数和小数部分至少有一位数字
+     */
+    private static boolean isDecimal(String value) {
+        int length = value.length();
+        int i = 0;
+        if (i < length && (value.charAt(i) == '-' || value.charAt(i) == '+')) {
+            i++;
+        }
+        int digits = 0;
+        boolean point = false;
+        for (; i < length; i++) {
+            char c = value.charAt(i);
+            if (Character.isDigit(c)) {
+                digits++;
+            } else if (c == '.' && !point) {
+                point = true;
+            } else {
+                break;
+            }
+        }
+        if (digits == 0) {
+            return false;
+        }
+        if (i < length && (value.charAt(i) == 'e' || value.charAt(i) == 'E')) {
+            i++;
+            if (i < length && (value.charAt(i) == '-' || value.charAt(i) == '+')) {
+                i++;
+            }
+            int exponentStart = i;
+            while (i < length && Character.isDigit(value.charAt(i))) {
+                i++;
+            }
+            if (i == exponentStart) {
+                return false;
+            }
+        }
+        return i == length;
+    }
+
+    /**
+     * 枚举转换器：先按常量名精确匹配，再忽略大小写匹配
+     */
+    static <E extends Enum<E>> TypeConverter<E> enumConverter(Class<E> enumClass) {
+        E[] constants = enumClass.getEnumConstants();
+        return new ResultConverter<>() {
+            @Override
+            public ConversionResult convert(String value, String pattern, ConversionResult result) {
+                for (E constant : constants) {
+                    if (constant.name().equals(value)) {
+                        return result.success(constant);
+                    }
+                }
+                for (E constant : constants) {
+                    if (constant.name().equalsIgnoreCase(value)) {
+                        return result.success(constant);
+                    }
+                }
+                return result.failure("枚举" + enumClass.getName() + "中没有常量: " + value);
+            }
+        };
+    }
+}
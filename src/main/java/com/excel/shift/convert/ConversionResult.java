@@ -0,0 +1,199 @@
+package com.excel.shift.convert;
+
+/**
+ * 单元格转换的结果：成功时为转换后的值，失败时为原因
+ * <p>
+ * 转换失败是数据问题而不是程序错误，内置转换器通过这个对象返回失败原因，不创建异常、不填充堆栈，
+ * 提取器只在失败时生成一条{@link com.excel.shift.result.ExtractionError}。
+ * 对象是可变的，由提取上下文创建一个并在每个单元格上重复使用（不能在多个线程之间共享），读取结果后才能进行下一次转换。
+ * <p>
+ * 数值和布尔转换器把结果保存为基本类型的值（{@link #getPrimitiveType()}），基本类型字段的赋值器直接读取，不装箱；
+ * 只有调用{@link #getValue()}时才装箱。
+ */
+public final class ConversionResult {
+
+    private boolean success;
+    private Object value;
+    // 基本类型的结果：int、long、boolean保存在longValue中，float、double保存在doubleValue中；对象结果为null
+    private Class<?> primitiveType;
+    private long longValue;
+    private double doubleValue;
+    private String message;
+    private boolean invalidNumber;
+    private Exception cause;
+
+    /**
+     * 转换成功
+     *
+     * @param value 转换后的值，可以为null（单元格没有有效值）
+     * @return this
+     */
+    public ConversionResult success(Object value) {
+        this.success = true;
+        this.value = value;
+        this.primitiveType = null;
+        this.message = null;
+        this.invalidNumber = false;
+        this.cause = null;
+        return this;
+    }
+
+    public ConversionResult successInt(int value) {
+        return successPrimitive(int.class, value, 0);
+    }
+
+    public ConversionResult successLong(long value) {
+        return successPrimitive(long.class, value, 0);
+    }
+
+    public ConversionResult successFloat(float value) {
+        return successPrimitive(float.class, 0, value);
+    }
+
+    public ConversionResult successDouble(double value) {
+        return successPrimitive(double.class, 0, value);
+    }
+
+    public ConversionResult successBoolean(boolean value) {
+        return successPrimitive(boolean.class, value ? 1 : 0, 0);
+    }
+
+    private ConversionResult successPrimitive(Class<?> type, long longValue, double doubleValue) {
+        success(null);
+        this.primitiveType = type;
+        this.longValue = longValue;
+        this.doubleValue = doubleValue;
+        return this;
+    }
+
+    /**
+     * 转换失败
+     *
+     * @param message 失败原因
+     * @return this
+     */
+    public ConversionResult failure(String message) {
+        return fail(message, false, null);
+    }
+
+    /**
+     * 数值格式错误
+     *
+     * @param message 失败原因
+     * @return this
+     */
+    public ConversionResult invalidNumber(String message) {
+        return fail(message, true, null);
+    }
+
+    /**
+     * 转换器抛出了异常（自定义转换器的默认实现），保留异常
+     *
+     * @param cause 转换器抛出的异常
+     * @return this
+     */
+    public ConversionResult failure(Exception cause) {
+        return fail(cause.getMessage(), cause instanceof NumberFormatException, cause);
+    }
+
+    private ConversionResult fail(String message, boolean invalidNumber, Exception cause) {
+        this.success = false;
+        this.value = null;
+        this.primitiveType = null;
+        this.message = message;
+        this.invalidNumber = invalidNumber;
+        this.cause = cause;
+        return this;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    /**
+     * 转换后的值，失败时为null；基本类型的结果装箱后返回
+     */
+    public Object getValue() {
+        if (primitiveType == null) {
+            return value;
+        }
+        if (primitiveType == int.class) {
+            return (int) longValue;
+        }
+        if (primitiveType == long.class) {
+            return longValue;
+        }
+        if (primitiveType == float.class) {
+            return (float) doubleValue;
+        }
+        if (primitiveType == double.class) {
+            return doubleValue;
+        }
+        return longValue != 0;
+    }
+
+    /**
+     * 是否转换成功并且有值（单元格没有有效值时转换成功但没有值）
+     */
+    public boolean hasValue() {
+        return success && (primitiveType != null || value != null);
+    }
+
+    /**
+     * 基本类型结果的类型（int.class、long.class、float.class、double.class、boolean.class），对象结果或失败时为null
+     */
+    public Class<?> getPrimitiveType() {
+        return primitiveType;
+    }
+
+    public int getInt() {
+        return (int) longValue;
+    }
+
+    public long getLong() {
+        return longValue;
+    }
+
+    public float getFloat() {
+        return (float) doubleValue;
+    }
+
+    public double getDouble() {
+        return doubleValue;
+    }
+
+    public boolean getBoolean() {
+        return longValue != 0;
+    }
+
+    /**
+     * 失败原因，成功时为null
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * 是否是数值格式错误
+     */
+    public boolean isInvalidNumber() {
+        return invalidNumber;
+    }
+
+    /**
+     * 转换器抛出的异常，内置转换器失败时为null
+     */
+    public Exception getCause() {
+        return cause;
+    }
+
+    /**
+     * 失败时对应的异常，供只能抛出异常的调用方使用
+     */
+    Exception toException() {
+        if (cause != null) {
+            return cause;
+        }
+        return invalidNumber ? new NumberFormatException(message) : new IllegalArgumentException(message);
+    }
+}
@@ -0,0 +1,561 @@
+package com.excel.shift.convert;
+
+import java.math.BigDecimal;
+import java.text.ParsePosition;
+import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalQuery;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * 日期转换器：Date、LocalDate、LocalDateTime
+ * <p>
+ * 未配置格式时按通用格式列表解析，为了不在每个单元格上逐个创建格式化器、逐个抛出解析异常：
+ * <ul>
+ *     <li>最常见的yyyy-M-d / yyyy/M/d（可带 HH:mm 或 HH:mm:ss）由手写的扫描器直接解析，不创建格式化器、不抛异常；</li>
+ *     <li>其他情况使用去重后预先创建好的格式化器，先用不抛异常的方式试解析，完整匹配后才真正解析；</li>
+ *     <li>每个列/字段有自己的转换器实例（{@link TypeConverter#forColumn()}），记住上一次成功的格式，下一行先尝试它。</li>
+ * </ul>
+ * 能解析哪些文本、得到什么结果都与逐个尝试格式列表相同；记住的格式只是提示，多个线程同时更新也只影响尝试顺序。
+ * 无法解析时通过{@link ConversionResult}返回与原来的解析异常相同的错误信息，不抛异常。
+ * <p>
+ * 日期格式的数值单元格（{@link TypeConverter#convertDateSerial}）不解析文本，由日期序列号直接计算，结果与POI的
+ * DateUtil.getLocalDateTime相同（时间四舍五入到秒），不受单元格显示格式和配置的格式影响。
+ */
+final class DateConverters {
+
+    // 常用的日期时间格式列表（已去重），按优先级从最具体到最通用排列
+    // 注意：这里的顺序很重要，因为它决定了尝试解析的顺序
+    private static final List<String> COMMON_DATE_TIME_PATTERNS = Arrays.asList(
+            "yyyy-MM-dd HH:mm:ss",     // 标准格式带秒
+            "yyyy/MM/dd HH:mm:ss",     // 斜杠分隔带秒
+            "yyyy-M-d HH:mm:ss",       // 单月单日带秒 (横线)
+            "yyyy/M/d HH:mm:ss",       // 单月单日带秒 (斜杠)
+            "yyyy-MM-dd HH:mm",        // 标准格式不带秒
+            "yyyy/MM/dd HH:mm",        // 斜杠分隔不带秒
+            "yyyy-M-d HH:mm",          // 单月单日不带秒 (横线)
+            "yyyy/M/d HH:mm",          // 单月单日不带秒 (斜杠)
+            "yyyy-MM-dd",              // 只有日期 (标准)
+            "yyyy/MM/dd",              // 只有日期 (斜杠)
+            "yyyy-M-d",                // 只有日期 (单月单日，横线)
+            "yyyy/M/d"
+    );
+    // 对于 java.util.Date，需要单独的模式列表，因为 SimpleDateFormat 不支持 java.time 的一些特性
+    // SimpleDateFormat只要求解析开头的部分，所以带秒的格式必须排在前面
+    private static final List<String> COMMON_UTIL_DATE_PATTERNS = Arrays.asList(
+            "yyyy-MM-dd HH:mm:ss",
+            "yyyy/MM/dd HH:mm:ss",
+            "yyyy-M-d HH:mm:ss",
+            "yyyy/M/d HH:mm:ss",
+            "yyyy-M-d HH:mm",
+            "yyyy/M/d HH:mm",
+            "yyyy-MM-dd HH:mm",
+            "yyyy/MM/dd HH:mm",
+            "yyyy-MM-dd",
+            "yyyy/MM/dd",
+            "yyyy-M-d",
+            "yyyy/M/d"
+    );
+
+    // 预先创建的格式化器，与COMMON_DATE_TIME_PATTERNS一一对应
+    private static final DateTimeFormatter[] DATE_TIME_FORMATTERS = new DateTimeFormatter[COMMON_DATE_TIME_PATTERNS.size()];
+    private static final boolean[] HAS_TIME = new boolean[COMMON_DATE_TIME_PATTERNS.size()];
+
+    static {
+        for (int i = 0; i < DATE_TIME_FORMATTERS.length; i++) {
+            DATE_TIME_FORMATTERS[i] = DateTimeFormatter.ofPattern(COMMON_DATE_TIME_PATTERNS.get(i));
+            HAS_TIME[i] = hasTime(COMMON_DATE_TIME_PATTERNS.get(i));
+        }
+    }
+
+    // 扫描结果：-1表示不是常见格式，否则按位保存各字段（秒0~5、分6~11、时12~16、日17~21、月22~25、年32~45、带时间62）
+    private static final long NO_MATCH = -1L;
+    private static final long TIME_FLAG = 1L << 62;
+
+    // 序列号0对应的日期1899-12-30（1900日期系统把1900年当作闰年，序列号61之前的日期要再加一天）
+    private static final long SERIAL_EPOCH_DAY = LocalDate.of(1899, 12, 30).toEpochDay();
+    // 序列号上限：10000-01-01，之后的年份不是4位数
+    private static final double MAX_SERIAL = 2958466;
+    private static final int SECONDS_PER_DAY = 86_400;
+    private static final BigDecimal HALF = BigDecimal.valueOf(5, 1);
+
+    private DateConverters() {
+    }
+
+    private static boolean hasTime(String pattern) {
+        return pattern.contains("H") || pattern.contains("m") || pattern.contains("s");
+    }
+
+    /**
+     * 按列记住成功格式的转换器基类
+     */
+    abstract static class Adaptive<T, F> extends ResultConverter<T> {
+        // 上一次成功的通用格式下标，-1表示还没有
+        volatile int hint = -1;
+        // 上一次配置的格式及其格式化器
+        private volatile Explicit<F> explicit;
+
+        /**
+         * 配置了格式时使用的格式化器，同一列的格式不变，只在格式变化时重新创建
+         */
+        final F formatterFor(String pattern) {
+            Explicit<F> cached = explicit;
+            if (cached != null && cached.pattern.equals(pattern)) {
+                return cached.formatter;
+            }
+            F formatter = createFormatter(pattern);
+            explicit = new Explicit<>(pattern, formatter);
+            return formatter;
+        }
+
+        abstract F createFormatter(String pattern);
+
+        @Override
+        public ConversionResult convertDateSerial(double serial, String value, String pattern, ConversionResult result) {
+            LocalDateTime dateTime = fromSerial(serial);
+            if (dateTime == null) {
+                return convert(value, pattern, result);
+            }
+            return result.success(fromDateTime(dateTime));
+        }
+
+        /**
+         * 由日期序列号计算出的日期时间得到结果
+         */
+        abstract T fromDateTime(LocalDateTime dateTime);
+    }
+
+    /**
+     * Excel日期序列号（1900日期系统）转换为日期时间，按天数和一天中的秒数计算，无效的序列号（负数、超出范围）返回null
+     * <p>
+     * 与POI相同：一天中的时间四舍五入到秒；1900-03-01之前的序列号按Excel的规则少算一天
+     */
+    static LocalDateTime fromSerial(double serial) {
+        if (!(serial >= 0 && serial < MAX_SERIAL)) {
+            return null;
+        }
+        long wholeDays = (long) serial;
+        double secondOfDay = (serial - wholeDays) * SECONDS_PER_DAY + 0.5;
+        long seconds = (long) secondOfDay;
+        // 序列号的精度（最后一位）对应的秒数，距离半秒在这个范围内时二进制的误差会影响舍入方向，按POI的方式用十进制计算
+        double tolerance = 2 * Math.ulp(serial) * SECONDS_PER_DAY;
+        if (secondOfDay - seconds < tolerance || seconds + 1 - secondOfDay < tolerance) {
+            seconds = BigDecimal.valueOf(serial).subtract(BigDecimal.valueOf(wholeDays))
+                    .multiply(BigDecimal.valueOf(SECONDS_PER_DAY)).add(HALF).longValue();
+        }
+        long epochDay = SERIAL_EPOCH_DAY + wholeDays + (wholeDays < 61 ? 1 : 0) + seconds / SECONDS_PER_DAY;
+        return LocalDateTime.of(LocalDate.ofEpochDay(epochDay), LocalTime.ofSecondOfDay(seconds % SECONDS_PER_DAY));
+    }
+
+    private static final class Explicit<F> {
+        private final String pattern;
+        private final F formatter;
+
+        private Explicit(String pattern, F formatter) {
+            this.pattern = pattern;
+            this.formatter = formatter;
+        }
+    }
+
+    static final class LocalDateConverter extends Adaptive<LocalDate, DateTimeFormatter> {
+
+        @Override
+        public ConversionResult convert(String value, String pattern, ConversionResult result) {
+            if (pattern != null && !pattern.isEmpty()) {
+                DateTimeFormatter formatter = formatterFor(pattern);
+                if (hasTime(pattern)) {
+                    if (parseExplicit(formatter, value, LocalDateTime::from, result).isSuccess()) {
+                        result.success(((LocalDateTime) result.getValue()).toLocalDate());
+                    }
+                    return result;
+                } else {
+                    return parseExplicit(formatter, value, LocalDate::from, result);
+                }
+            }
+            long scanned = scan(value);
+            if (scanned != NO_MATCH) {
+                return result.success(localDate(scanned));
+            }
+            // 否则尝试所有常用日期格式 (只包含日期部分)
+            int first = hint;
+            if (first >= 0) {
+                LocalDateTime parsed = tryParse(first, value);
+                if (parsed != null) {
+                    return result.success(parsed.toLocalDate());
+                }
+            }
+            for (int i = 0; i < DATE_TIME_FORMATTERS.length; i++) {
+                if (i == first) {
+                    continue;
+                }
+                LocalDateTime parsed = tryParse(i, value);
+                if (parsed != null) {
+                    hint = i;
+                    return result.success(parsed.toLocalDate());
+                }
+            }
+            return result.failure("无法解析 LocalDate: " + value + "，尝试了所有通用日期格式。");
+        }
+
+        @Override
+        DateTimeFormatter createFormatter(String pattern) {
+            return DateTimeFormatter.ofPattern(pattern);
+        }
+
+        @Override
+        LocalDate fromDateTime(LocalDateTime dateTime) {
+            return dateTime.toLocalDate();
+        }
+
+        @Override
+        public TypeConverter<LocalDate> forColumn() {
+            return new LocalDateConverter();
+        }
+    }
+
+    static final class LocalDateTimeConverter extends Adaptive<LocalDateTime, DateTimeFormatter> {
+
+        @Override
+        public ConversionResult convert(String value, String pattern, ConversionResult result) {
+            if (pattern != null && !pattern.isEmpty()) {
+                // 如果指定了 pattern，就只用指定的
+                return parseExplicit(formatterFor(pattern), value, LocalDateTime::from, result);
+            }
+            long scanned = scan(value);
+            if (scanned != NO_MATCH) {
+                return result.success(localDate(scanned).atTime(hour(scanned), minute(scanned), second(scanned)));
+            }
+            // 否则尝试所有常用日期时间格式
+            int first = hint;
+            if (first >= 0) {
+                LocalDateTime parsed = tryParse(first, value);
+                if (parsed != null) {
+                    return result.success(parsed);
+                }
+            }
+            for (int i = 0; i < DATE_TIME_FORMATTERS.length; i++) {
+                if (i == first) {
+                    continue;
+                }
+                LocalDateTime parsed = tryParse(i, value);
+                if (parsed != null) {
+                    hint = i;
+                    return result.success(parsed);
+                }
+            }
+            // 如果所有格式都尝试失败，则返回失败
+            return result.failure("无法解析 LocalDateTime: " + value + "，尝试了所有通用格式。");
+        }
+
+        @Override
+        DateTimeFormatter createFormatter(String pattern) {
+            return DateTimeFormatter.ofPattern(pattern);
+        }
+
+        @Override
+        LocalDateTime fromDateTime(LocalDateTime dateTime) {
+            return dateTime;
+        }
+
+        @Override
+        public TypeConverter<LocalDateTime> forColumn() {
+            return new LocalDateTimeConverter();
+        }
+    }
+
+    static final class UtilDateConverter extends Adaptive<Date, SimpleDateFormat> {
+        // 通用格式的原型，SimpleDateFormat不是线程安全的，每次使用克隆
+        private static final SimpleDateFormat[] PROTOTYPES = new SimpleDateFormat[COMMON_UTIL_DATE_PATTERNS.size()];
+        // 扫描结果使用的日历原型，与SimpleDateFormat使用相同类型的日历
+        private static final Calendar CALENDAR = Calendar.getInstance(Locale.getDefault(Locale.Category.FORMAT));
+
+        static {
+            for (int i = 0; i < PROTOTYPES.length; i++) {
+                PROTOTYPES[i] = strict(COMMON_UTIL_DATE_PATTERNS.get(i));
+            }
+        }
+
+        @Override
+        public ConversionResult convert(String value, String pattern, ConversionResult result) {
+            if (value == null || value.isBlank()) {
+                return result.success(null);
+            }
+            if (pattern != null && !pattern.isEmpty()) {
+                // 与SimpleDateFormat.parse(String)相同：没有解析任何字符时失败
+                ParsePosition position = new ParsePosition(0);
+                Date parsed = copy(formatterFor(pattern)).parse(value, position);
+                if (position.getIndex() == 0) {
+                    return result.failure("Unparseable date: \"" + value + "\"");
+                }
+                return result.success(parsed);
+            }
+            long scanned = scan(value);
+            if (scanned != NO_MATCH) {
+                Date parsed = utilDate(scanned);
+                if (parsed != null) {
+                    return result.success(parsed);
+                }
+            }
+            // 记住的格式只有完整解析整个文本时才使用，否则按列表顺序解析（与逐个尝试的结果相同）
+            int first = hint;
+            if (first >= 0) {
+                ParsePosition position = new ParsePosition(0);
+                Date parsed = copy(PROTOTYPES[first]).parse(value, position);
+                if (parsed != null && position.getIndex() == value.length()) {
+                    return result.success(parsed);
+                }
+            }
+            for (int i = 0; i < PROTOTYPES.length; i++) {
+                ParsePosition position = new ParsePosition(0);
+                Date parsed = copy(PROTOTYPES[i]).parse(value, position);
+                if (parsed != null) {
+                    if (position.getIndex() == value.length()) {
+                        hint = i;
+                    }
+                    return result.success(parsed);
+                }
+            }
+            return result.failure("无法解析日期: " + value + "，尝试了所有通用格式。");
+        }
+
+        @Override
+        SimpleDateFormat createFormatter(String pattern) {
+            return strict(pattern);
+        }
+
+        @Override
+        Date fromDateTime(LocalDateTime dateTime) {
+            // 与SimpleDateFormat相同，按当前的默认时区
+            return Date.from(dateTime.atZone(ZoneId.systemDefault()).toInstant());
+        }
+
+        @Override
+        public TypeConverter<Date> forColumn() {
+            return new UtilDateConverter();
+        }
+
+        /**
+         * 克隆格式化器，使用当前的默认时区（与每次新建SimpleDateFormat相同）
+         */
+        private static SimpleDateFormat copy(SimpleDateFormat prototype) {
+            SimpleDateFormat sdf = (SimpleDateFormat) prototype.clone();
+            sdf.setTimeZone(TimeZone.getDefault());
+            return sdf;
+        }
+
+        private static SimpleDateFormat strict(String pattern) {
+            SimpleDateFormat sdf = new SimpleDateFormat(pattern);
+            sdf.setLenient(false);
+            return sdf;
+        }
+
+        /**
+         * 与SimpleDateFormat相同的方式创建日期：默认时区和区域的日历，非宽松模式，无效时返回null
+         */
+        private static Date utilDate(long scanned) {
+            Calendar calendar = (Calendar) CALENDAR.clone();
+            calendar.setTimeZone(TimeZone.getDefault());
+            calendar.setLenient(false);
+            calendar.clear();
+            calendar.set(Calendar.YEAR, year(scanned));
+            calendar.set(Calendar.MONTH, month(scanned) - 1);
+            calendar.set(Calendar.DAY_OF_MONTH, day(scanned));
+            if ((scanned & TIME_FLAG) != 0) {
+                calendar.set(Calendar.HOUR_OF_DAY, hour(scanned));
+                calendar.set(Calendar.MINUTE, minute(scanned));
+                calendar.set(Calendar.SECOND, second(scanned));
+            }
+            try {
+                return calendar.getTime();
+            } catch (IllegalArgumentException e) {
+                // 夏令时跳过的时间等，交给格式列表处理
+                return null;
+            }
+        }
+    }
+
+    /**
+     * 用配置的格式解析，错误信息与DateTimeFormatter.parse抛出的异常相同。
+     * 先用不抛异常的parseUnresolved检查文本，只有文本匹配但字段无效（如13月）时才会由解析抛出异常
+     */
+    private static ConversionResult parseExplicit(DateTimeFormatter formatter, String value, TemporalQuery<?> query,
+                                                  ConversionResult result) {
+        ParsePosition position = new ParsePosition(0);
+        if (formatter.parseUnresolved(value, position) == null || position.getErrorIndex() >= 0) {
+            return result.failure("Text '" + abbreviate(value) + "' could not be parsed at index " + position.getErrorIndex());
+        }
+        if (position.getIndex() < value.length()) {
+            return result.failure("Text '" + abbreviate(value) + "' could not be parsed, unparsed text found at index "
+                    + position.getIndex());
+        }
+        try {
+            return result.success(formatter.parse(value, query));
+        } catch (DateTimeParseException e) {
+            return result.failure(e.getMessage());
+        }
+    }
+
+    /**
+     * 与DateTimeFormatter的错误信息相同，超过64个字符的文本截断
+     */
+    private static String abbreviate(String value) {
+        return value.length() > 64 ? value.substring(0, 64) + "..." : value;
+    }
+
+    /**
+     * 用第i个通用格式解析，不匹配时返回null；先用不抛异常的parseUnresolved确认完整匹配，再真正解析
+     */
+    private static LocalDateTime tryParse(int i, String value) {
+        DateTimeFormatter formatter = DATE_TIME_FORMATTERS[i];
+        ParsePosition position = new ParsePosition(0);
+        if (formatter.parseUnresolved(value, position) == null || position.getIndex() != value.length()) {
+            return null;
+        }
+        try {
+            return HAS_TIME[i] ? LocalDateTime.parse(value, formatter) : LocalDate.parse(value, formatter).atStartOfDay();
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 扫描常见格式：yyyy-M-d 或 yyyy/M/d（月、日1~2位），可带 " HH:mm" 或 " HH:mm:ss"。
+     * 只接受通用格式列表也能解析、并且各字段都有效的文本，其他情况（包括需要按解析规则调整的日期，如2月30日）返回NO_MATCH
+     */
+    static long scan(CharSequence text) {
+        int length = text.length();
+        if (length < 8) {
+            return NO_MATCH;
+        }
+        int year = digits(text, 0, 4);
+        if (year <= 0) {
+            return NO_MATCH;
+        }
+        char separator = text.charAt(4);
+        if (separator != '-' && separator != '/') {
+            return NO_MATCH;
+        }
+        int pos = 5;
+        int monthEnd = digitRun(text, pos, 2);
+        if (monthEnd == pos || monthEnd >= length || text.charAt(monthEnd) != separator) {
+            return NO_MATCH;
+        }
+        int month = digits(text, pos, monthEnd - pos);
+        pos = monthEnd + 1;
+        int dayEnd = digitRun(text, pos, 2);
+        if (dayEnd == pos) {
+            return NO_MATCH;
+        }
+        int day = digits(text, pos, dayEnd - pos);
+        if (month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)) {
+            return NO_MATCH;
+        }
+        long packed = ((long) year << 32) | ((long) month << 22) | ((long) day << 17);
+        pos = dayEnd;
+        if (pos == length) {
+            return packed;
+        }
+        // " HH:mm" 或 " HH:mm:ss"，时分秒都是两位
+        if (text.charAt(pos) != ' ' || (length - pos != 6 && length - pos != 9) || text.charAt(pos + 3) != ':') {
+            return NO_MATCH;
+        }
+        int hour = digits(text, pos + 1, 2);
+        int minute = digits(text, pos + 4, 2);
+        int second = 0;
+        if (length - pos == 9) {
+            if (text.charAt(pos + 6) != ':') {
+                return NO_MATCH;
+            }
+            second = digits(text, pos + 7, 2);
+        }
+        if (hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+            return NO_MATCH;
+        }
+        return packed | TIME_FLAG | ((long) hour << 12) | ((long) minute << 6) | second;
+    }
+
+    /**
+     * 从start开始的count位数字，有非数字字符时返回-1
+     */
+    private static int digits(CharSequence text, int start, int count) {
+        if (start + count > text.length()) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /**
+     * 从start开始最多max位连续数字的结束位置
+     */
+    private static int digitRun(CharSequence text, int start, int max) {
+        int end = start;
+        while (end < text.length() && end - start < max && text.charAt(end) >= '0' && text.charAt(end) <= '9') {
+            end++;
+        }
+        // 超过max位的数字不是常见格式
+        if (end < text.length() && end - start == max && text.charAt(end) >= '0' && text.charAt(end) <= '9') {
+            return start;
+        }
+        return end;
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                return (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    private static LocalDate localDate(long scanned) {
+        return LocalDate.of(year(scanned), month(scanned), day(scanned));
+    }
+
+    private static int year(long scanned) {
+        return (int) ((scanned >>> 32) & 0x3FFF);
+    }
+
+    private static int month(long scanned) {
+        return (int) ((scanned >>> 22) & 0xF);
+    }
+
+    private static int day(long scanned) {
+        return (int) ((scanned >>> 17) & 0x1F);
+    }
+
+    private static int hour(long scanned) {
+        return (int) ((scanned >>> 12) & 0x1F);
+    }
+
+    private static int minute(long scanned) {
+        return (int) ((scanned >>> 6) & 0x3F);
+    }
+
+    private static int second(long scanned) {
+        return (int) (scanned & 0x3F);
+    }
+}
@@ -0,0 +1,369 @@
+package com.excel.shift.convert;
+
+/**
+ * 数值扫描器：直接从单元格文本中一次扫描出数值，不创建中间字符串、不抛异常
+ * <p>
+ * 文本中只能有一个数：
+ * <ul>
+ *     <li>数前面的文字忽略（如"约12.5"、"井深:1200"），数字前紧挨着的'-'/'+'是符号；</li>
+ *     <li>整数部分中的千分位分隔符（','和全角'，'）跳过，如"1,234.5"；</li>
+ *     <li>数后面的单位文字忽略（如"12.5m"、"30%"、"125 m3"），但单位中的数字只能紧跟在英文字母后面，
+ *     "10-20"、"2024-01-05"、"3层12"这类包含多个数的文本视为无效；</li>
+ *     <li>支持科学计数法（"1.5E3"）。</li>
+ * </ul>
+ * 无效时整数返回{@link #NO_LONG}，浮点数返回NaN，需要区分"没有数字"和"格式错误"时使用{@link #hasDigit}。
+ */
+public final class NumberScanner {
+
+    /**
+     * parseLong/parseInt无效时的返回值（文本正好是Long.MIN_VALUE时也返回它，视为无效）
+     */
+    public static final long NO_LONG = Long.MIN_VALUE;
+
+    // 10的0~22次方都可以用double精确表示
+    private static final double[] DOUBLE_POWERS = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    // 10的0~10次方都可以用float精确表示
+    private static final float[] FLOAT_POWERS = {
+            1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f
+    };
+    private static final int MAX_MANTISSA_DIGITS = 18;
+
+    private NumberScanner() {
+    }
+
+    /**
+     * 解析整数，有小数部分时向零截断（"3.7" -> 3），超出long范围时无效
+     *
+     * @return 整数值，无效时返回{@link #NO_LONG}
+     */
+    public static long parseLong(CharSequence text) {
+        int start = numberStart(text);
+        if (start < 0) {
+            return NO_LONG;
+        }
+        int length = text.length();
+        int i = start;
+        boolean negative = false;
+        char c = text.charAt(i);
+        if (c == '-' || c == '+') {
+            negative = c == '-';
+            i++;
+        }
+        // 按负数累加，Long.MIN_VALUE以外的值都不会溢出
+        long value = 0;
+        boolean overflow = false;
+        for (; i < length; i++) {
+            c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (value < Long.MIN_VALUE / 10) {
+                    overflow = true;
+                }
+                value = value * 10 - (c - '0');
+                if (value > 0) {
+                    overflow = true;
+                }
+            } else if (!isGroupingSeparator(text, i)) {
+                break;
+            }
+        }
+        if (i < length && text.charAt(i) == '.') {
+            i++;
+            while (i < length && isDigit(text.charAt(i))) {
+                i++;
+            }
+        }
+        if (exponentEnd(text, i) > i) {
+            // 科学计数法按浮点数解析后截断
+            double d = parseDouble(text);
+            if (Double.isNaN(d) || d >= 0x1p63 || d < -0x1p63) {
+                return NO_LONG;
+            }
+            return (long) d;
+        }
+        if (overflow || !isValidSuffix(text, i)) {
+            return NO_LONG;
+        }
+        if (negative) {
+            return value;
+        }
+        return value == Long.MIN_VALUE ? NO_LONG : -value;
+    }
+
+    /**
+     * 解析int范围内的整数，规则同{@link #parseLong}
+     *
+     * @return 整数值，无效或超出int范围时返回{@link #NO_LONG}
+     */
+    public static long parseInt(CharSequence text) {
+        long value = parseLong(text);
+        return value < Integer.MIN_VALUE || value > Integer.MAX_VALUE ? NO_LONG : value;
+    }
+
+    /**
+     * 解析double，结果与Double.parseDouble对数字部分的解析结果相同
+     *
+     * @return 数值，无效时返回NaN
+     */
+    public static double parseDouble(CharSequence text) {
+        int start = numberStart(text);
+        if (start < 0) {
+            return Double.NaN;
+        }
+        int length = text.length();
+        int i = start;
+        boolean negative = false;
+        char c = text.charAt(i);
+        if (c == '-' || c == '+') {
+            negative = c == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean exact = true;
+        for (; i < length; i++) {
+            c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (digits < MAX_MANTISSA_DIGITS) {
+                    mantissa = mantissa * 10 + (c - '0');
+                    if (mantissa != 0) {
+                        digits++;
+                    }
+                } else {
+                    exponent++;
+                    exact = false;
+                }
+            } else if (!isGroupingSeparator(text, i)) {
+                break;
+            }
+        }
+        if (i < length && text.charAt(i) == '.') {
+            i++;
+            for (; i < length; i++) {
+                c = text.charAt(i);
+                if (c < '0' || c > '9') {
+                    break;
+                }
+                if (digits < MAX_MANTISSA_DIGITS) {
+                    mantissa = mantissa * 10 + (c - '0');
+                    exponent--;
+                    if (mantissa != 0) {
+                        digits++;
+                    }
+                } else if (c != '0') {
+                    exact = false;
+                }
+            }
+        }
+        int numberEnd = i;
+        int exponentEnd = exponentEnd(text, i);
+        if (exponentEnd > i) {
+            numberEnd = exponentEnd;
+            int e = parseExponent(text, i + 1, exponentEnd);
+            exponent = e == Integer.MIN_VALUE ? Integer.MIN_VALUE : exponent + e;
+            if (e == Integer.MIN_VALUE) {
+                exact = false;
+            }
+        }
+        if (!isValidSuffix(text, numberEnd)) {
+            return Double.NaN;
+        }
+        if (exact && mantissa < (1L << 53) && exponent >= -22 && exponent <= 22) {
+            double value = exponent >= 0 ? mantissa * DOUBLE_POWERS[exponent] : mantissa / DOUBLE_POWERS[-exponent];
+            return negative ? -value : value;
+        }
+        return Double.parseDouble(numberText(text, start, numberEnd));
+    }
+
+    /**
+     * 解析float，结果与Float.parseFloat对数字部分的解析结果相同
+     *
+     * @return 数值，无效时返回NaN
+     */
+    public static float parseFloat(CharSequence text) {
+        int start = numberStart(text);
+        if (start < 0) {
+            return Float.NaN;
+        }
+        int length = text.length();
+        int i = start;
+        boolean negative = false;
+        char c = text.charAt(i);
+        if (c == '-' || c == '+') {
+            negative = c == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean exact = true;
+        for (; i < length; i++) {
+            c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (digits < MAX_MANTISSA_DIGITS) {
+                    mantissa = mantissa * 10 + (c - '0');
+                    if (mantissa != 0) {
+                        digits++;
+                    }
+                } else {
+                    exact = false;
+                }
+            } else if (!isGroupingSeparator(text, i)) {
+                break;
+            }
+        }
+        if (i < length && text.charAt(i) == '.') {
+            i++;
+            for (; i < length; i++) {
+                c = text.charAt(i);
+                if (c < '0' || c > '9') {
+                    break;
+                }
+                if (digits < MAX_MANTISSA_DIGITS) {
+                    mantissa = mantissa * 10 + (c - '0');
+                    exponent--;
+                    if (mantissa != 0) {
+                        digits++;
+                    }
+                } else if (c != '0') {
+                    exact = false;
+                }
+            }
+        }
+        int numberEnd = i;
+        int exponentEnd = exponentEnd(text, i);
+        if (exponentEnd > i) {
+            numberEnd = exponentEnd;
+            exact = false;
+        }
+        if (!isValidSuffix(text, numberEnd)) {
+            return Float.NaN;
+        }
+        if (exact && mantissa < (1L << 24) && exponent >= -10 && exponent <= 0) {
+            float value = (float) mantissa / FLOAT_POWERS[-exponent];
+            return negative ? -value : value;
+        }
+        return Float.parseFloat(numberText(text, start, numberEnd));
+    }
+
+    /**
+     * 文本中是否有数字，解析无效时用来区分"没有数"和"格式错误"
+     */
+    public static boolean hasDigit(CharSequence text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (isDigit(text.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 数的开始位置（包括符号和开头的小数点），没有数字时返回-1
+     */
+    private static int numberStart(CharSequence text) {
+        int length = text.length();
+        int i = 0;
+        while (i < length && !isDigit(text.charAt(i))) {
+            i++;
+        }
+        if (i == length) {
+            return -1;
+        }
+        if (i > 0 && text.charAt(i - 1) == '.') {
+            // ".5"只在整数部分为空时出现，交给小数部分处理
+            i--;
+        }
+        if (i > 0 && (text.charAt(i - 1) == '-' || text.charAt(i - 1) == '+')) {
+            i--;
+        }
+        return i;
+    }
+
+    /**
+     * 位于两个数字之间的千分位分隔符
+     */
+    private static boolean isGroupingSeparator(CharSequence text, int i) {
+        char c = text.charAt(i);
+        return (c == ',' || c == '，') && i > 0 && isDigit(text.charAt(i - 1))
+                && i + 1 < text.length() && isDigit(text.charAt(i + 1));
+    }
+
+    /**
+     * 从i开始的指数部分（e/E、可选符号、数字）的结束位置，没有指数部分时返回i
+     */
+    private static int exponentEnd(CharSequence text, int i) {
+        int length = text.length();
+        if (i >= length || (text.charAt(i) != 'e' && text.charAt(i) != 'E')) {
+            return i;
+        }
+        int j = i + 1;
+        if (j < length && (text.charAt(j) == '-' || text.charAt(j) == '+')) {
+            j++;
+        }
+        if (j >= length || !isDigit(text.charAt(j))) {
+            return i;
+        }
+        while (j < length && isDigit(text.charAt(j))) {
+            j++;
+        }
+        return j;
+    }
+
+    /**
+     * 指数值，超出范围时返回Integer.MIN_VALUE
+     */
+    private static int parseExponent(CharSequence text, int start, int end) {
+        boolean negative = text.charAt(start) == '-';
+        if (text.charAt(start) == '-' || text.charAt(start) == '+') {
+            start++;
+        }
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            value = value * 10 + (text.charAt(i) - '0');
+            if (value > 100000) {
+                return Integer.MIN_VALUE;
+            }
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * 数后面的文字是否是单位：其中的数字只能紧跟在英文字母（或这样的数字）后面
+     */
+    private static boolean isValidSuffix(CharSequence text, int end) {
+        boolean unitDigit = false;
+        for (int i = end; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (isDigit(c)) {
+                if (!unitDigit) {
+                    return false;
+                }
+            } else {
+                unitDigit = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 去掉千分位分隔符的数字部分，只在快速路径不能精确计算时使用
+     */
+    private static String numberText(CharSequence text, int start, int end) {
+        StringBuilder builder = new StringBuilder(end - start);
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c != ',' && c != '，') {
+                builder.append(c);
+            }
+        }
+        return builder.toString();
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
@@ -0,0 +1,22 @@
+package com.excel.shift.convert;
+
+/**
+ * 通过{@link ConversionResult}返回结果、不抛异常的转换器基类，内置转换器都继承它
+ *
+ * @param <T> 转换结果的类型
+ */
+abstract class ResultConverter<T> implements TypeConverter<T> {
+
+    @Override
+    public abstract ConversionResult convert(String value, String pattern, ConversionResult result);
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public final T convert(String value, String pattern) throws Exception {
+        ConversionResult result = convert(value, pattern, new ConversionResult());
+        if (result.isSuccess()) {
+            return (T) result.getValue();
+        }
+        throw result.toException();
+    }
+}
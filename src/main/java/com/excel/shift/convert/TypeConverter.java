@@ -0,0 +1,82 @@
+package com.excel.shift.convert;
+
+/**
+ * 单元格文本到Java值的转换器
+ * <p>
+ * 编译提取计划时，每个列/字段按配置中的javaFieldType从{@link TypeConverters}中找到转换器并保存下来，
+ * 提取时每个单元格只调用一次{@link #convert}。同一个转换器会被多个提取计划、多个线程同时使用，
+ * 实现必须是无状态、线程安全的单例（例如不能在字段中保存SimpleDateFormat），按列保存状态见{@link #forColumn()}。
+ *
+ * @param <T> 转换结果的类型
+ */
+@FunctionalInterface
+public interface TypeConverter<T> {
+
+    /**
+     * 转换单元格文本
+     *
+     * @param value   单元格文本，已去掉首尾空白，不为空
+     * @param pattern 格式模式（如日期格式），未配置时为null
+     * @return 转换后的值，无法得到有效值时返回null
+     * @throws Exception 文本格式不正确，由提取器记录为字段的错误
+     */
+    T convert(String value, String pattern) throws Exception;
+
+    /**
+     * 转换单元格文本，结果写入result，提取器使用这个方法
+     * <p>
+     * 默认调用{@link #convert(String, String)}并把抛出的异常作为失败原因；内置转换器直接返回失败原因，不创建异常。
+     * 单元格格式错误很常见的自定义转换器可以覆盖这个方法。
+     *
+     * @param value   单元格文本，已去掉首尾空白，不为空
+     * @param pattern 格式模式（如日期格式），未配置时为null
+     * @param result  提取上下文重复使用的结果对象
+     * @return result
+     */
+    default ConversionResult convert(String value, String pattern, ConversionResult result) {
+        try {
+            return result.success(convert(value, pattern));
+        } catch (Exception e) {
+            return result.failure(e);
+        }
+    }
+
+    /**
+     * 转换日期格式的数值单元格，提取器对这类单元格使用这个方法
+     * <p>
+     * 默认按单元格显示的文本转换；日期转换器覆盖这个方法，直接由日期序列号计算，不解析文本。
+     *
+     * @param serial  Excel日期序列号（1900日期系统，1904日期系统的工作簿读取时已换算）：整数部分为天数，小数部分为一天中的时间
+     * @param value   单元格文本，已去掉首尾空白，不为空
+     * @param pattern 格式模式（如日期格式），未配置时为null
+     * @param result  提取上下文重复使用的结果对象
+     * @return result
+     */
+    default ConversionResult convertDateSerial(double serial, String value, String pattern, ConversionResult result) {
+        return convert(value, pattern, result);
+    }
+
+    /**
+     * 转换数值单元格的原始值，按原始值读取数值单元格时（{@code rawNumericCells}）提取器对这类单元格使用这个方法
+     * <p>
+     * 默认按文本转换；内置的数值转换器覆盖这个方法，直接使用原始值，不扫描文本。
+     *
+     * @param number  单元格中保存的数值，不受显示格式影响
+     * @param value   数值的文本（不带显示格式，如12.5、1234），不为空
+     * @param pattern 格式模式，未配置时为null
+     * @param result  提取上下文重复使用的结果对象
+     * @return result
+     */
+    default ConversionResult convertNumber(double number, String value, String pattern, ConversionResult result) {
+        return convert(value, pattern, result);
+    }
+
+    /**
+     * 编译提取计划时为每个列/字段调用一次，返回该列使用的转换器
+     * <p>
+     * 需要按列保存状态的转换器（例如日期转换器记住上一次成功的格式）返回新实例，状态仍需是线程安全的；默认返回自身
+     */
+    default TypeConverter<T> forColumn() {
+        return this;
+    }
+}
@@ -0,0 +1,126 @@
+package com.excel.shift.convert;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 类型转换器注册表
+ * <p>
+ * 内置了配置文件中所有可用的javaFieldType：String、Integer/int、Long/long、Float/float、Double/double、Boolean/boolean、
+ * BigDecimal、Date、LocalDate、LocalDateTime、enum（按字符串处理），类型名称不区分大小写，简单类名和全限定名都可以。
+ * 类型名称是枚举类的全限定名时，按枚举常量名转换。
+ * <p>
+ * 自定义类型在编译提取计划（创建{@link com.excel.shift.excel.ExtractionEngine}或ExcelExtractor）之前注册：
+ * <pre>
+ * TypeConverters.register(Money.class, (value, pattern) -&gt; Money.parse(value));
+ * </pre>
+ * 已编译的计划保存的是转换器本身，之后的注册只影响新编译的计划。
+ */
+@Slf4j
+public final class TypeConverters {
+
+    private static final Map<String, TypeConverter<?>> CONVERTERS = new ConcurrentHashMap<>();
+
+    // 枚举类的转换器，每个枚举类一个
+    private static final ClassValue<TypeConverter<?>> ENUM_CONVERTERS = new ClassValue<TypeConverter<?>>() {
+        // 只对枚举类调用，Class<?>无法不经转换绑定到enumConverter的E extends Enum<E>
+        @Override
+        @SuppressWarnings("unchecked")
+        protected TypeConverter<?> computeValue(Class<?> type) {
+            return BuiltinConverters.enumConverter(type.asSubclass(Enum.class));
+        }
+    };
+
+    static {
+        register(String.class, BuiltinConverters.STRING);
+        register(Integer.class, BuiltinConverters.INTEGER);
+        register("int", BuiltinConverters.INTEGER);
+        register(Long.class, BuiltinConverters.LONG);
+        register("long", BuiltinConverters.LONG);
+        register(Float.class, BuiltinConverters.FLOAT);
+        register("float", BuiltinConverters.FLOAT);
+        register(Double.class, BuiltinConverters.DOUBLE);
+        register("double", BuiltinConverters.DOUBLE);
+        register(Boolean.class, BuiltinConverters.BOOLEAN);
+        register("boolean", BuiltinConverters.BOOLEAN);
+        register(BigDecimal.class, BuiltinConverters.BIG_DECIMAL);
+        register(Date.class, BuiltinConverters.DATE);
+        register(LocalDate.class, BuiltinConverters.LOCAL_DATE);
+        register(LocalDateTime.class, BuiltinConverters.LOCAL_DATE_TIME);
+        // 未指定枚举类，保留原始字符串
+        register("enum", BuiltinConverters.STRING);
+    }
+
+    private TypeConverters() {
+    }
+
+    /**
+     * 按类型名称注册转换器，覆盖同名的已有转换器
+     *
+     * @param typeName  配置中的javaFieldType，不区分大小写
+     * @param converter 无状态、线程安全的转换器
+     */
+    public static void register(String typeName, TypeConverter<?> converter) {
+        Objects.requireNonNull(typeName, "类型名称不能为空");
+        Objects.requireNonNull(converter, "转换器不能为空");
+        CONVERTERS.put(typeName.trim().toLowerCase(Locale.ROOT), converter);
+    }
+
+    /**
+     * 按类注册转换器，简单类名和全限定名都可以在配置中使用
+     *
+     * @param type      目标类型
+     * @param converter 无状态、线程安全的转换器
+     */
+    public static <T> void register(Class<T> type, TypeConverter<? extends T> converter) {
+        register(type.getSimpleName(), converter);
+        register(type.getName(), converter);
+    }
+
+    /**
+     * 查找已注册的转换器
+     *
+     * @param typeName 配置中的javaFieldType
+     * @return 转换器，没有注册时返回null
+     */
+    public static TypeConverter<?> find(String typeName) {
+        return typeName == null ? null : CONVERTERS.get(typeName.trim().toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * 确定javaFieldType对应的转换器，编译提取计划时每个列/字段调用一次
+     * <p>
+     * 依次查找已注册的转换器、名称为枚举类全限定名的枚举转换器，都没有时记录警告并按字符串处理。
+     *
+     * @param typeName    配置中的javaFieldType
+     * @param classLoader 加载枚举类使用的类加载器
+     * @return 转换器，类型名称为null时返回null
+     */
+    public static TypeConverter<?> resolve(String typeName, ClassLoader classLoader) {
+        if (typeName == null) {
+            return null;
+        }
+        TypeConverter<?> converter = find(typeName);
+        if (converter != null) {
+            return converter;
+        }
+        try {
+            Class<?> type = Class.forName(typeName.trim(), false, classLoader);
+            if (type.isEnum()) {
+                return ENUM_CONVERTERS.get(type);
+            }
+        } catch (ClassNotFoundException | LinkageError e) {
+            // 不是类名
+        }
+        log.warn("未注册类型[{}]的转换器，按字符串处理", typeName);
+        return BuiltinConverters.STRING;
+    }
+}
@@ -0,0 +1,240 @@
+package com.excel.shift.excel;
+
+import com.excel.shift.config.ExcelMappingConfig;
+import com.excel.shift.result.BatchResult;
+import com.excel.shift.result.BatchStatistics;
+import com.excel.shift.result.ExtractionResult;
+import com.excel.shift.result.FileExtractionResult;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * 批量提取多个Excel文件
+ * <p>
+ * 所有文件使用同一个配置（同一个{@link ExtractionEngine}），在执行器上并发提取，同时进行的文件数不超过并发上限。
+ * 默认执行器：运行在Java 21及以上时每个文件一个虚拟线程，否则使用与并发上限相同大小的线程池；
+ * 也可以传入自己的执行器（不会被关闭）。单个文件失败只记录在该文件的结果中，不影响其他文件。
+ * <pre>
+ * BatchResult batch = new BatchExtractor(engine).withConcurrency(16).extract(sources);
+ * </pre>
+ * 不可变对象，可以在多个线程之间共享。
+ */
+@Slf4j
+public final class BatchExtractor {
+
+    private final ExtractionEngine engine;
+    private final int concurrency;
+    // 调用方提供的执行器，为null时每个批次创建默认执行器
+    private final Executor executor;
+
+    public BatchExtractor(ExtractionEngine engine) {
+        this(engine, Runtime.getRuntime().availableProcessors(), null);
+    }
+
+    public BatchExtractor(ExcelMappingConfig mappingConfig, List<Class<?>> classList) {
+        this(new ExtractionEngine(mappingConfig, classList));
+    }
+
+    private BatchExtractor(ExtractionEngine engine, int concurrency, Executor executor) {
+        this.engine = Objects.requireNonNull(engine, "提取引擎不能为空");
+        this.concurrency = concurrency;
+        this.executor = executor;
+    }
+
+    /**
+     * 返回设置了并发上限（同时提取的文件数）的新对象
+     */
+    public BatchExtractor withConcurrency(int concurrency) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("并发数必须大于0: " + concurrency);
+        }
+        return new BatchExtractor(engine, concurrency, executor);
+    }
+
+    /**
+     * 返回使用指定执行器的新对象，执行器由调用方负责关闭；传入null恢复默认执行器
+     */
+    public BatchExtractor withExecutor(Executor executor) {
+        return new BatchExtractor(engine, concurrency, executor);
+    }
+
+    public ExtractionEngine getEngine() {
+        return engine;
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    /**
+     * 提取所有文件，等待全部完成后返回
+     *
+     * @param sources Excel数据来源列表
+     * @return 每个文件一个结果（顺序与输入一致）以及汇总统计
+     */
+    public BatchResult extract(List<ExcelSource> sources) {
+        FileExtractionResult[] fileResults = new FileExtractionResult[sources.size()];
+        BatchStatistics statistics = run(sources, fileResult -> fileResults[fileResult.getFileIndex()] = fileResult);
+        return new BatchResult(Arrays.asList(fileResults), statistics);
+    }
+
+    /**
+     * 提取所有文件，每完成一个文件就回调一次，结果不在内存中保留
+     * 回调按完成顺序依次调用（不会并发调用），回调中的异常只记录日志
+     *
+     * @param sources  Excel数据来源列表
+     * @param consumer 单个文件的结果回调
+     * @return 汇总统计
+     */
+    public BatchStatistics extract(List<ExcelSource> sources, Consumer<FileExtractionResult> consumer) {
+        Objects.requireNonNull(consumer, "结果回调不能为空");
+        return run(sources, consumer);
+    }
+
+    private BatchStatistics run(List<ExcelSource> sources, Consumer<FileExtractionResult> consumer) {
+        Objects.requireNonNull(sources, "Excel数据来源列表不能为空");
+        int fileCount = sources.size();
+        long startTime = System.nanoTime();
+        AtomicInteger successCount = new AtomicInteger();
+        AtomicLong sheetCount = new AtomicLong();
+        AtomicLong totalFileMillis = new AtomicLong();
+        Object consumerLock = new Object();
+        Consumer<FileExtractionResult> collector = fileResult -> {
+            if (fileResult.isSuccess()) {
+                successCount.incrementAndGet();
+            }
+            sheetCount.addAndGet(fileResult.getSheetCount());
+            totalFileMillis.addAndGet(fileResult.getElapsedMillis());
+            synchronized (consumerLock) {
+                try {
+                    consumer.accept(fileResult);
+                } catch (Exception e) {
+                    log.error("处理文件[{}]的提取结果时发生错误: {}", fileResult.getSourceName(), e.getMessage(), e);
+                }
+            }
+        };
+
+        ExecutorService ownedExecutor = executor == null ? newDefaultExecutor(concurrency) : null;
+        Executor target = executor == null ? ownedExecutor : executor;
+        Semaphore permits = new Semaphore(concurrency);
+        CountDownLatch finished = new CountDownLatch(fileCount);
+        try {
+            for (int i = 0; i < fileCount; i++) {
+                int fileIndex = i;
+                ExcelSource source = sources.get(i);
+                try {
+                    permits.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    // 剩余文件不再提交，直接记为失败
+                    for (int j = fileIndex; j < fileCount; j++) {
+                        collector.accept(new FileExtractionResult(j, sourceName(sources.get(j)), null, e, 0));
+                        finished.countDown();
+                    }
+                    break;
+                }
+                try {
+                    target.execute(() -> {
+                        try {
+                            collector.accept(extractFile(fileIndex, source));
+                        } finally {
+                            permits.release();
+                            finished.countDown();
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    permits.release();
+                    log.error("文件[{}]提交到执行器失败: {}", sourceName(source), e.getMessage());
+                    collector.accept(new FileExtractionResult(fileIndex, sourceName(source), null, e, 0));
+                    finished.countDown();
+                }
+            }
+            awaitQuietly(finished);
+        } finally {
+            if (ownedExecutor != null) {
+                ownedExecutor.shutdown();
+            }
+        }
+
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+        BatchStatistics statistics = new BatchStatistics(fileCount, successCount.get(), fileCount - successCount.get(),
+                sheetCount.get(), elapsedMillis, totalFileMillis.get());
+        log.info("批量提取完成: {}", statistics);
+        return statistics;
+    }
+
+    private FileExtractionResult extractFile(int fileIndex, ExcelSource source) {
+        long startTime = System.nanoTime();
+        ExtractionResult extractionResult = null;
+        Exception error = null;
+        try {
+            Objects.requireNonNull(source, "Excel数据来源不能为空");
+            extractionResult = engine.extractOrThrow(source, SheetSelector.all());
+            if (extractionResult.isEmpty()) {
+                error = new IllegalStateException("未能从文件中提取到任何sheet");
+                extractionResult = null;
+            }
+        } catch (Exception e) {
+            error = e;
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+        if (error != null) {
+            log.error("文件[{}]提取失败: {}", sourceName(source), error.getMessage());
+        }
+        return new FileExtractionResult(fileIndex, sourceName(source), extractionResult, error, elapsedMillis);
+    }
+
+    private static String sourceName(ExcelSource source) {
+        return source == null ? "null" : source.getName();
+    }
+
+    /**
+     * 等待所有已提交的文件完成；被中断时保留中断状态，但仍然等待已开始的文件结束，避免结果在返回后继续写入
+     */
+    private static void awaitQuietly(CountDownLatch finished) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                finished.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 默认执行器：Java 21及以上使用虚拟线程（通过反射调用，项目仍以Java 17编译），否则使用固定大小的线程池
+     * 两种情况下同时提取的文件数都由信号量限制
+     */
+    private static ExecutorService newDefaultExecutor(int concurrency) {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger threadNumber = new AtomicInteger();
+            return Executors.newFixedThreadPool(concurrency, runnable -> {
+                Thread thread = new Thread(runnable, "excel-batch-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
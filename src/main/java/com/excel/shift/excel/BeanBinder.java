@@ -0,0 +1,740 @@
+package com.excel.shift.excel;
+
+import com.excel.shift.convert.ConversionResult;
+import lombok.extern.slf4j.Slf4j;
+
+import java.beans.ConstructorProperties;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.RecordComponent;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Supplier;
+
+/**
+ * 目标类的对象创建和字段赋值
+ * <p>
+ * 构造函数和setter通过LambdaMetafactory生成为Supplier和BiConsumer，JIT可以像普通方法调用一样内联；
+ * 字段是private的，赋值优先使用Lombok生成的setter（包括@Accessors(chain = true)返回this的setter），
+ * 没有setter时使用字段的MethodHandle，两者都不可用时（例如类由其他类加载器加载）再退回到反射。
+ * 每个类的结果按类缓存在ClassValue中，多个提取计划共用。
+ * <p>
+ * 没有无参构造函数的类型（record，或Lombok @Value/@AllArgsConstructor这类字段为final的类）通过构造函数绑定：
+ * {@link #newInstance()}返回参数缓冲区，赋值器把值写入缓冲区，{@link #build}一次调用构造函数得到对象。
+ * record使用规范构造函数；其他类按参数名绑定，参数名取自@ConstructorProperties或-parameters编译保留的参数名，
+ * 无法确定参数名时创建对象报错，不按字段声明顺序猜测参数的对应关系。
+ * <p>
+ * double、int、long、float、boolean字段另外生成基本类型的赋值器，转换结果是基本类型的值时直接写入，不装箱
+ * （double、int、long通过ObjDoubleConsumer等生成，float、boolean没有对应的函数式接口，使用MethodHandle）。
+ */
+@Slf4j
+final class BeanBinder {
+
+    private static final ClassValue<BeanBinder> BINDERS = new ClassValue<>() {
+        @Override
+        protected BeanBinder computeValue(Class<?> type) {
+            return new BeanBinder(type);
+        }
+    };
+
+    private final Class<?> type;
+    // 生成的构造函数，为null时使用反射
+    private final Supplier<Object> constructor;
+    private final Constructor<?> reflectiveConstructor;
+    private final Exception constructorError;
+    // 通过构造函数绑定时的构造函数，使用setter时为null
+    private final ConstructorBinding constructorBinding;
+    // 字段名 -> 赋值器
+    private final Map<String, FieldSetter> setters = new ConcurrentHashMap<>();
+
+    private BeanBinder(Class<?> type) {
+        this.type = type;
+        Constructor<?> declared = null;
+        Exception resolvedConstructorError = null;
+        try {
+            declared = type.getDeclaredConstructor();
+        } catch (Exception e) {
+            resolvedConstructorError = e;
+        }
+        ConstructorBinding binding = null;
+        if (declared == null || type.isRecord()) {
+            try {
+                binding = ConstructorBinding.resolve(type);
+            } catch (IllegalStateException e) {
+                resolvedConstructorError = e;
+            }
+        }
+        this.constructorBinding = binding;
+        this.reflectiveConstructor = declared;
+        this.constructorError = binding == null ? resolvedConstructorError : null;
+        this.constructor = declared == null || binding != null ? null : createConstructor(type);
+    }
+
+    static BeanBinder of(Class<?> type) {
+        return BINDERS.get(type);
+    }
+
+    /**
+     * 使用无参构造函数创建对象；通过构造函数绑定的类型返回新的参数缓冲区
+     */
+    Object newInstance() throws Exception {
+        if (constructorError != null) {
+            throw constructorError;
+        }
+        if (constructorBinding != null) {
+            return constructorBinding.newBuffer();
+        }
+        return constructor != null ? constructor.get() : reflectiveConstructor.newInstance();
+    }
+
+    /**
+     * 赋值完成后得到目标对象：通过构造函数绑定的类型用缓冲区中的参数调用构造函数，其他类型直接返回
+     */
+    Object build(Object instance) throws Exception {
+        return constructorBinding != null ? constructorBinding.construct((ArgumentBuffer) instance) : instance;
+    }
+
+    /**
+     * 是否通过构造函数绑定（赋值时的对象是参数缓冲区而不是目标对象）
+     */
+    boolean isConstructorBound() {
+        return constructorBinding != null;
+    }
+
+    /**
+     * 字段的赋值器
+     *
+     * @param field 目标类中声明的字段
+     */
+    FieldSetter setter(Field field) {
+        return setters.computeIfAbsent(field.getName(), name -> createSetter(field));
+    }
+
+    /**
+     * 给对象的某个字段赋值
+     */
+    @FunctionalInterface
+    interface FieldSetter {
+        void set(Object bean, Object value) throws Exception;
+
+        /**
+         * 写入转换结果，基本类型字段直接写入基本类型的值，其他情况装箱后赋值
+         */
+        default void set(Object bean, ConversionResult result) throws Exception {
+            set(bean, result.getValue());
+        }
+    }
+
+    /**
+     * 把无参构造函数生成为Supplier，抽象类或无法生成时返回null（使用反射，保持原有的异常）
+     */
+    @SuppressWarnings("unchecked")
+    private static Supplier<Object> createConstructor(Class<?> type) {
+        if (Modifier.isAbstract(type.getModifiers())) {
+            return null;
+        }
+        try {
+            MethodHandles.Lookup lookup = lookupFor(type);
+            MethodHandle handle = lookup.findConstructor(type, MethodType.methodType(void.class));
+            CallSite site = LambdaMetafactory.metafactory(lookup, "get",
+                    MethodType.methodType(Supplier.class), MethodType.methodType(Object.class),
+                    handle, MethodType.methodType(type));
+            return (Supplier<Object>) site.getTarget().invokeExact();
+        } catch (Throwable e) {
+            log.debug("类{}无法生成构造函数，使用反射: {}", type.getName(), e.toString());
+            return null;
+        }
+    }
+
+    private FieldSetter createSetter(Field field) {
+        Class<?> valueType = wrap(field.getType());
+        if (constructorBinding != null) {
+            return new CheckedSetter(field, valueType, constructorBinding.parameterSetter(field));
+        }
+        BiConsumer<Object, Object> target = null;
+        Method setterMethod = findSetter(type, field);
+        if (setterMethod != null) {
+            target = createSetterLambda(setterMethod, valueType);
+        }
+        PrimitiveSetter primitive = field.getType().isPrimitive() ? createPrimitiveSetter(field, setterMethod) : null;
+        if (target == null) {
+            target = createFieldHandleSetter(field);
+        }
+        if (target == null) {
+            target = (bean, value) -> {
+                try {
+                    field.set(bean, value);
+                } catch (IllegalAccessException e) {
+                    throw new IllegalStateException(e);
+                }
+            };
+        }
+        return new CheckedSetter(field, valueType, target, primitive);
+    }
+
+    /**
+     * 基本类型字段的赋值器，字段类型不是double、int、long、float、boolean或无法生成时返回null（装箱后赋值）
+     */
+    private PrimitiveSetter createPrimitiveSetter(Field field, Method setterMethod) {
+        Class<?> fieldType = field.getType();
+        if (fieldType == double.class) {
+            ObjDoubleConsumer<Object> target = setterMethod == null ? null
+                    : createPrimitiveLambda(setterMethod, ObjDoubleConsumer.class, double.class);
+            if (target == null) {
+                MethodHandle handle = primitiveHandle(field, setterMethod);
+                if (handle == null) {
+                    return null;
+                }
+                target = (bean, value) -> invokeDouble(handle, bean, value);
+            }
+            return PrimitiveSetter.ofDouble(target);
+        }
+        if (fieldType == int.class) {
+            ObjIntConsumer<Object> target = setterMethod == null ? null
+                    : createPrimitiveLambda(setterMethod, ObjIntConsumer.class, int.class);
+            if (target == null) {
+                MethodHandle handle = primitiveHandle(field, setterMethod);
+                if (handle == null) {
+                    return null;
+                }
+                target = (bean, value) -> invokeInt(handle, bean, value);
+            }
+            return PrimitiveSetter.ofInt(target);
+        }
+        if (fieldType == long.class) {
+            ObjLongConsumer<Object> target = setterMethod == null ? null
+                    : createPrimitiveLambda(setterMethod, ObjLongConsumer.class, long.class);
+            if (target == null) {
+                MethodHandle handle = primitiveHandle(field, setterMethod);
+                if (handle == null) {
+                    return null;
+                }
+                target = (bean, value) -> invokeLong(handle, bean, value);
+            }
+            return PrimitiveSetter.ofLong(target);
+        }
+        if (fieldType == float.class || fieldType == boolean.class) {
+            MethodHandle handle = primitiveHandle(field, setterMethod);
+            return handle == null ? null : fieldType == float.class ? PrimitiveSetter.ofFloat(handle) : PrimitiveSetter.ofBoolean(handle);
+        }
+        return null;
+    }
+
+    /**
+     * 把基本类型参数的setter生成为ObjDoubleConsumer、ObjIntConsumer或ObjLongConsumer，无法生成时返回null
+     *
+     * @param consumerType 函数式接口的类（原始类型），返回值的泛型参数由调用处的目标类型确定
+     */
+    @SuppressWarnings("unchecked")
+    private <C> C createPrimitiveLambda(Method setterMethod, Class<? super C> consumerType, Class<?> primitiveType) {
+        try {
+            MethodHandles.Lookup lookup = lookupFor(type);
+            MethodHandle handle = lookup.unreflect(setterMethod);
+            CallSite site = LambdaMetafactory.metafactory(lookup, "accept",
+                    MethodType.methodType(consumerType),
+                    MethodType.methodType(void.class, Object.class, primitiveType),
+                    handle, MethodType.methodType(void.class, type, primitiveType));
+            return (C) site.getTarget().invoke();
+        } catch (Throwable e) {
+            log.debug("类{}的setter {}无法生成基本类型赋值器: {}", type.getName(), setterMethod.getName(), e.toString());
+            return null;
+        }
+    }
+
+    /**
+     * setter或字段的MethodHandle，类型为(Object, 字段类型)void，无法获取时返回null
+     */
+    private MethodHandle primitiveHandle(Field field, Method setterMethod) {
+        MethodType methodType = MethodType.methodType(void.class, Object.class, field.getType());
+        if (setterMethod != null) {
+            try {
+                return lookupFor(type).unreflect(setterMethod).asType(methodType);
+            } catch (IllegalAccessException e) {
+                log.debug("类{}的setter {}无法生成MethodHandle: {}", type.getName(), setterMethod.getName(), e.toString());
+            }
+        }
+        try {
+            return MethodHandles.lookup().unreflectSetter(field).asType(methodType);
+        } catch (IllegalAccessException e) {
+            log.debug("类{}的字段{}无法生成MethodHandle: {}", type.getName(), field.getName(), e.toString());
+            return null;
+        }
+    }
+
+    // 调用(Object, 基本类型)void的MethodHandle，受检异常包装为IllegalStateException（与字段MethodHandle赋值器相同）
+
+    private static void invokeDouble(MethodHandle handle, Object bean, double value) {
+        try {
+            handle.invokeExact(bean, value);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void invokeInt(MethodHandle handle, Object bean, int value) {
+        try {
+            handle.invokeExact(bean, value);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void invokeLong(MethodHandle handle, Object bean, long value) {
+        try {
+            handle.invokeExact(bean, value);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void invokeFloat(MethodHandle handle, Object bean, float value) {
+        try {
+            handle.invokeExact(bean, value);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void invokeBoolean(MethodHandle handle, Object bean, boolean value) {
+        try {
+            handle.invokeExact(bean, value);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 查找字段对应的public setter：setXxx(字段类型)，boolean类型的isXxx字段同时查找setXxx，没有时返回null
+     */
+    static Method findSetter(Class<?> type, Field field) {
+        String name = field.getName();
+        if (field.getType() == boolean.class && name.length() > 2 && name.startsWith("is")
+                && Character.isUpperCase(name.charAt(2))) {
+            Method method = findPublicMethod(type, "set" + name.substring(2), field.getType());
+            if (method != null) {
+                return method;
+            }
+        }
+        return findPublicMethod(type, "set" + Character.toUpperCase(name.charAt(0)) + name.substring(1), field.getType());
+    }
+
+    private static Method findPublicMethod(Class<?> type, String name, Class<?> parameterType) {
+        try {
+            Method method = type.getMethod(name, parameterType);
+            return Modifier.isStatic(method.getModifiers()) ? null : method;
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 把setter生成为BiConsumer，setter的返回值（链式setter返回this）被丢弃
+     */
+    @SuppressWarnings("unchecked")
+    private BiConsumer<Object, Object> createSetterLambda(Method setterMethod, Class<?> valueType) {
+        try {
+            MethodHandles.Lookup lookup = lookupFor(type);
+            MethodHandle handle = lookup.unreflect(setterMethod);
+            CallSite site = LambdaMetafactory.metafactory(lookup, "accept",
+                    MethodType.methodType(BiConsumer.class),
+                    MethodType.methodType(void.class, Object.class, Object.class),
+                    handle, MethodType.methodType(void.class, type, valueType));
+            return (BiConsumer<Object, Object>) site.getTarget().invokeExact();
+        } catch (Throwable e) {
+            log.debug("类{}的setter {}无法生成，改用字段赋值: {}", type.getName(), setterMethod.getName(), e.toString());
+            return null;
+        }
+    }
+
+    private BiConsumer<Object, Object> createFieldHandleSetter(Field field) {
+        try {
+            MethodHandle handle = MethodHandles.lookup().unreflectSetter(field)
+                    .asType(MethodType.methodType(void.class, Object.class, Object.class));
+            return (bean, value) -> {
+                try {
+                    handle.invokeExact(bean, value);
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new IllegalStateException(e);
+                }
+            };
+        } catch (IllegalAccessException e) {
+            log.debug("类{}的字段{}无法生成MethodHandle，使用反射: {}", type.getName(), field.getName(), e.toString());
+            return null;
+        }
+    }
+
+    /**
+     * 目标类自己的Lookup，生成的类与目标类在同一个类加载器中；无法获取时使用本类的Lookup
+     */
+    private static MethodHandles.Lookup lookupFor(Class<?> type) {
+        try {
+            return MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+        } catch (IllegalAccessException | SecurityException e) {
+            return MethodHandles.lookup();
+        }
+    }
+
+    static Class<?> wrap(Class<?> type) {
+        return type.isPrimitive() ? MethodType.methodType(type).wrap().returnType() : type;
+    }
+
+    /**
+     * 构造函数参数缓冲区，基本类型参数预先填入默认值
+     */
+    private static final class ArgumentBuffer {
+        private final Object[] values;
+
+        ArgumentBuffer(Object[] values) {
+            this.values = values;
+        }
+    }
+
+    /**
+     * 通过构造函数绑定的类型：参数名 -> 参数位置，以及展开参数数组调用构造函数的MethodHandle
+     */
+    private static final class ConstructorBinding {
+        private final Class<?> type;
+        private final Map<String, Integer> parameterIndex;
+        private final Object[] defaults;
+        // (Object[])Object
+        private final MethodHandle constructor;
+
+        private ConstructorBinding(Class<?> type, Map<String, Integer> parameterIndex, Object[] defaults,
+                                   MethodHandle constructor) {
+            this.type = type;
+            this.parameterIndex = parameterIndex;
+            this.defaults = defaults;
+            this.constructor = constructor;
+        }
+
+        /**
+         * record的规范构造函数，或参数名可以确定的构造函数；抽象类返回null
+         * <p>
+         * record的参数名取自record组件。其他类的字段在getDeclaredFields()中的顺序没有规范保证，
+         * 也不包括父类的字段，不能按字段顺序对应构造函数参数，参数名只取自@ConstructorProperties
+         * 或-parameters编译保留的参数名；有多个这样的构造函数时使用参数最多的一个。
+         *
+         * @throws IllegalStateException 没有参数名可以确定的构造函数、参数个数最多的构造函数不止一个，
+         *                               或参数类型与同名字段的类型不一致
+         */
+        static ConstructorBinding resolve(Class<?> type) {
+            if (Modifier.isAbstract(type.getModifiers())) {
+                return null;
+            }
+            Constructor<?> declared;
+            String[] names;
+            if (type.isRecord()) {
+                RecordComponent[] components = type.getRecordComponents();
+                Class<?>[] componentTypes = new Class<?>[components.length];
+                names = new String[components.length];
+                for (int i = 0; i < components.length; i++) {
+                    names[i] = components[i].getName();
+                    componentTypes[i] = components[i].getType();
+                }
+                try {
+                    declared = type.getDeclaredConstructor(componentTypes);
+                } catch (NoSuchMethodException e) {
+                    throw new IllegalStateException("record " + type.getName() + "没有规范构造函数", e);
+                }
+            } else {
+                declared = null;
+                names = null;
+                boolean ambiguous = false;
+                for (Constructor<?> candidate : type.getDeclaredConstructors()) {
+                    String[] candidateNames = parameterNames(candidate);
+                    if (candidateNames == null) {
+                        continue;
+                    }
+                    if (declared == null || candidateNames.length > names.length) {
+                        declared = candidate;
+                        names = candidateNames;
+                        ambiguous = false;
+                    } else if (candidateNames.length == names.length) {
+                        ambiguous = true;
+                    }
+                }
+                if (declared == null) {
+                    throw new IllegalStateException("类" + type.getName() + "没有无参构造函数，也无法确定构造函数的参数名："
+                            + "请在构造函数上标注@ConstructorProperties（Lombok可配置lombok.anyConstructor.addConstructorProperties=true），"
+                            + "使用-parameters编译，或改为record");
+                }
+                if (ambiguous) {
+                    throw new IllegalStateException("类" + type.getName() + "有多个" + names.length
+                            + "个参数的构造函数，无法确定使用哪一个创建对象");
+                }
+                checkParameterTypes(type, declared, names);
+            }
+            Class<?>[] parameterTypes = declared.getParameterTypes();
+            try {
+                MethodHandle handle;
+                try {
+                    handle = lookupFor(type).unreflectConstructor(declared);
+                } catch (IllegalAccessException e) {
+                    declared.setAccessible(true);
+                    handle = MethodHandles.lookup().unreflectConstructor(declared);
+                }
+                MethodHandle spread = handle.asSpreader(Object[].class, parameterTypes.length)
+                        .asType(MethodType.methodType(Object.class, Object[].class));
+                Map<String, Integer> parameterIndex = new HashMap<>();
+                Object[] defaults = new Object[parameterTypes.length];
+                for (int i = 0; i < parameterTypes.length; i++) {
+                    parameterIndex.put(names[i], i);
+                    if (parameterTypes[i].isPrimitive()) {
+                        defaults[i] = Array.get(Array.newInstance(parameterTypes[i], 1), 0);
+                    }
+                }
+                return new ConstructorBinding(type, parameterIndex, defaults, spread);
+            } catch (IllegalAccessException | RuntimeException e) {
+                throw new IllegalStateException("类" + type.getName() + "的构造函数" + declared + "不可访问", e);
+            }
+        }
+
+        /**
+         * 构造函数的参数名：@ConstructorProperties或-parameters编译保留的参数名，都没有时返回null
+         */
+        private static String[] parameterNames(Constructor<?> constructor) {
+            if (constructor.isSynthetic() || constructor.getParameterCount() == 0) {
+                return null;
+            }
+            ConstructorProperties properties = constructor.getAnnotation(ConstructorProperties.class);
+            if (properties != null) {
+                return properties.value().length == constructor.getParameterCount() ? properties.value() : null;
+            }
+            Parameter[] parameters = constructor.getParameters();
+            String[] names = new String[parameters.length];
+            for (int i = 0; i < parameters.length; i++) {
+                if (!parameters[i].isNamePresent()) {
+                    return null;
+                }
+                names[i] = parameters[i].getName();
+            }
+            return names;
+        }
+
+        /**
+         * 参数类型与同名字段（包括父类中的字段）的类型必须一致，字段的值按字段类型转换后写入参数
+         */
+        private static void checkParameterTypes(Class<?> type, Constructor<?> constructor, String[] names) {
+            Class<?>[] parameterTypes = constructor.getParameterTypes();
+            for (int i = 0; i < names.length; i++) {
+                for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+                    Field field;
+                    try {
+                        field = current.getDeclaredField(names[i]);
+                    } catch (NoSuchFieldException e) {
+                        continue;
+                    }
+                    if (field.getType() != parameterTypes[i]) {
+                        throw new IllegalStateException("类" + type.getName() + "的构造函数参数" + names[i] + "的类型"
+                                + parameterTypes[i].getName() + "与字段类型" + field.getType().getName() + "不一致");
+                    }
+                    break;
+                }
+            }
+        }
+
+        ArgumentBuffer newBuffer() {
+            return new ArgumentBuffer(defaults.clone());
+        }
+
+        Object construct(ArgumentBuffer buffer) throws Exception {
+            try {
+                return (Object) constructor.invokeExact(buffer.values);
+            } catch (Exception | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        BiConsumer<Object, Object> parameterSetter(Field field) {
+            Integer index = parameterIndex.get(field.getName());
+            if (index == null) {
+                return (bean, value) -> {
+                    throw new IllegalStateException("类" + type.getName() + "通过构造函数创建，字段" + field.getName() + "不是构造函数参数");
+                };
+            }
+            int position = index;
+            return (bean, value) -> ((ArgumentBuffer) bean).values[position] = value;
+        }
+    }
+
+    /**
+     * 基本类型字段的赋值器：按Field.set的拓宽规则接受基本类型的转换结果（如int结果写入double字段），
+     * 不能拓宽时返回false，由装箱的赋值路径报告与Field.set相同的错误
+     */
+    @FunctionalInterface
+    private interface PrimitiveSetter {
+        boolean set(Object bean, ConversionResult result, Class<?> resultType);
+
+        static PrimitiveSetter ofDouble(ObjDoubleConsumer<Object> target) {
+            return (bean, result, resultType) -> {
+                if (resultType == double.class || resultType == float.class) {
+                    target.accept(bean, result.getDouble());
+                } else if (resultType == int.class || resultType == long.class) {
+                    target.accept(bean, result.getLong());
+                } else {
+                    return false;
+                }
+                return true;
+            };
+        }
+
+        static PrimitiveSetter ofInt(ObjIntConsumer<Object> target) {
+            return (bean, result, resultType) -> {
+                if (resultType != int.class) {
+                    return false;
+                }
+                target.accept(bean, result.getInt());
+                return true;
+            };
+        }
+
+        static PrimitiveSetter ofLong(ObjLongConsumer<Object> target) {
+            return (bean, result, resultType) -> {
+                if (resultType != int.class && resultType != long.class) {
+                    return false;
+                }
+                target.accept(bean, result.getLong());
+                return true;
+            };
+        }
+
+        static PrimitiveSetter ofFloat(MethodHandle handle) {
+            return (bean, result, resultType) -> {
+                if (resultType == float.class) {
+                    invokeFloat(handle, bean, result.getFloat());
+                } else if (resultType == int.class || resultType == long.class) {
+                    invokeFloat(handle, bean, result.getLong());
+                } else {
+                    return false;
+                }
+                return true;
+            };
+        }
+
+        static PrimitiveSetter ofBoolean(MethodHandle handle) {
+            return (bean, result, resultType) -> {
+                if (resultType != boolean.class) {
+                    return false;
+                }
+                invokeBoolean(handle, bean, result.getBoolean());
+                return true;
+            };
+        }
+    }
+
+    /**
+     * 赋值前检查值的类型，与Field.set的规则和错误信息保持一致：
+     * 类型不匹配时抛出IllegalArgumentException，基本类型字段支持数值的拓宽转换
+     */
+    private static final class CheckedSetter implements FieldSetter {
+        private final Field field;
+        private final Class<?> valueType;
+        private final BiConsumer<Object, Object> target;
+        // 基本类型字段的赋值器，其他字段为null
+        private final PrimitiveSetter primitive;
+
+        CheckedSetter(Field field, Class<?> valueType, BiConsumer<Object, Object> target) {
+            this(field, valueType, target, null);
+        }
+
+        CheckedSetter(Field field, Class<?> valueType, BiConsumer<Object, Object> target, PrimitiveSetter primitive) {
+            this.field = field;
+            this.valueType = valueType;
+            this.target = target;
+            this.primitive = primitive;
+        }
+
+        @Override
+        public void set(Object bean, Object value) {
+            if (!valueType.isInstance(value)) {
+                value = widen(value);
+            }
+            target.accept(bean, value);
+        }
+
+        @Override
+        public void set(Object bean, ConversionResult result) {
+            Class<?> resultType = result.getPrimitiveType();
+            if (primitive != null && resultType != null && primitive.set(bean, result, resultType)) {
+                return;
+            }
+            set(bean, result.getValue());
+        }
+
+        private Object widen(Object value) {
+            Class<?> fieldType = field.getType();
+            if (fieldType.isPrimitive() && value != null) {
+                Object widened = widenPrimitive(value, fieldType);
+                if (widened != null) {
+                    return widened;
+                }
+            }
+            if (value == null && !fieldType.isPrimitive()) {
+                return null;
+            }
+            throw new IllegalArgumentException("Can not set " + fieldType.getName() + " field "
+                    + field.getDeclaringClass().getName() + "." + field.getName() + " to "
+                    + (value == null ? "null value" : value.getClass().getName()));
+        }
+
+        private static Object widenPrimitive(Object value, Class<?> fieldType) {
+            if (value instanceof Character) {
+                value = (int) (Character) value;
+                if (fieldType == int.class) {
+                    return value;
+                }
+            }
+            if (!(value instanceof Byte || value instanceof Short || value instanceof Integer
+                    || value instanceof Long || value instanceof Float)) {
+                return null;
+            }
+            Number number = (Number) value;
+            boolean integral = !(value instanceof Float);
+            int width = value instanceof Byte ? 1 : value instanceof Short ? 2 : value instanceof Integer ? 4 : 8;
+            if (fieldType == short.class && integral && width < 2) {
+                return number.shortValue();
+            }
+            if (fieldType == int.class && integral && width < 4) {
+                return number.intValue();
+            }
+            if (fieldType == long.class && integral && width < 8) {
+                return number.longValue();
+            }
+            if (fieldType == float.class && !(value instanceof Float)) {
+                return number.floatValue();
+            }
+            if (fieldType == double.class) {
+                return number.doubleValue();
+            }
+            return null;
+        }
+    }
+}
@@ -1,36 +1,79 @@
 package com.excel.shift.excel;
 
 import com.alibaba.excel.context.AnalysisContext;
+import com.alibaba.excel.enums.CellDataTypeEnum;
+import com.alibaba.excel.enums.CellExtraTypeEnum;
 import com.alibaba.excel.event.AnalysisEventListener;
+import com.alibaba.excel.exception.ExcelAnalysisStopSheetException;
+import com.alibaba.excel.metadata.Cell;
+import com.alibaba.excel.metadata.CellExtra;
+import com.alibaba.excel.metadata.data.DataFormatData;
+import com.alibaba.excel.metadata.data.ReadCellData;
+import com.alibaba.excel.support.ExcelTypeEnum;
+import com.alibaba.excel.util.DateUtils;
 
 import com.excel.shift.config.ExcelMappingConfig;
 import com.excel.shift.config.ExtractorConfig;
+import com.excel.shift.config.RowBands;
 import com.excel.shift.util.DynamicExpressionResolver;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.dromara.hutool.core.util.ObjUtil;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.TreeMap;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.ObjIntConsumer;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 @Slf4j
 public class ExcelDataListener extends AnalysisEventListener<Map<Integer, String>> {
 
+    // 1904日期系统的序列号加上这个天数换算为1900日期系统（1904-01-01在1900日期系统中的序列号）
+    private static final int DAYS_1904_OFFSET = 1462;
+
     ExcelMappingConfig excelMappingConfig;
-    private TreeMap<Integer, Map<Integer, String>> data = new TreeMap<>();
+    private SheetGrid grid = new SheetGrid();
     private DynamicExpressionResolver expressionResolver;
     private boolean isSuccess = true;
     private Integer startRow;
     private Integer endRow;
+    // 流式模式下每行数据到达时的处理回调，设置后不再缓存整张sheet的数据
+    private ObjIntConsumer<RowCells> rowHandler;
+    // 当前行，每行重复使用
+    private final ReadRow currentRow = new ReadRow();
+    // 数值单元格按原始值读取
+    private boolean rawNumericCells = false;
+    // 经过边界过滤后接收到的行数
+    @Getter
+    private int rowCount = 0;
+    // 配置引用到的列索引，读取时只保留这些列；为null时保留所有列
+    private Set<Integer> projectedColumns;
+    // 保留的单元格数量
+    @Getter
+    private long keptCellCount = 0;
+    // 未被配置引用而丢弃的单元格数量
+    @Getter
+    private long discardedCellCount = 0;
+    // 配置需要的行范围，不在范围内的行不保存；为null时保存所有行
+    private RowBands rowBands;
+    // 读取时收到的合并区域，每个元素为{首行, 末行, 首列, 末列}
+    private final List<int[]> mergeRegions = new ArrayList<>();
+    // 是否提前结束了sheet的读取，合并单元格信息在sheet末尾，提前结束时收不到
+    private boolean stoppedEarly = false;
 
     public ExcelDataListener(ExcelMappingConfig mappingConfig, int startRow, int endRow) {
         if (mappingConfig != null) {
             this.expressionResolver = new DynamicExpressionResolver(mappingConfig);
             this.excelMappingConfig = mappingConfig;
+            this.projectedColumns = mappingConfig.getReferencedColumns();
+            this.rowBands = mappingConfig.getRequiredRowBands();
         }
         this.startRow = startRow;
         if(ObjUtil.isNotNull(startRow)&&startRow>0)this.startRow--;
@@ -42,60 +85,143 @@ public class ExcelDataListener extends AnalysisEventListener<Map<Integer, String
         if (mappingConfig != null) {
             this.expressionResolver = new DynamicExpressionResolver(mappingConfig);
             this.excelMappingConfig = mappingConfig;
+            this.projectedColumns = mappingConfig.getReferencedColumns();
+            this.rowBands = mappingConfig.getRequiredRowBands();
         }
     }
 
+    /**
+     * 流式模式构造函数，每行数据交给rowHandler处理，不缓存
+     *
+     * @param rowHandler 行处理回调，参数为行数据和行索引(0-based)；行数据对象在回调之间重复使用，不能保存
+     */
+    public ExcelDataListener(ExcelMappingConfig mappingConfig, ObjIntConsumer<RowCells> rowHandler) {
+        this(mappingConfig);
+        this.rowHandler = rowHandler;
+    }
+
     @Override
     public void invoke(Map<Integer, String> rowData, AnalysisContext context) {
         int rowIndex = context.readRowHolder().getRowIndex();
-//
-//        boolean allStartNumeric = true;
-//        boolean allEndNumeric = true;
-//        int minStart = Integer.MAX_VALUE;
-//        int maxEnd = Integer.MIN_VALUE;
-//
-//        // 一次遍历，收集 startRow 和 endRow 信息
-//        for (ExtractorConfig cfg : excelMappingConfig.getAllExtractors()) {
-//            String s = cfg.getStartRow();
-//            if (s != null && s.trim().matches("\\d+")) {
-//                int v = Integer.parseInt(s.trim());
-//                minStart = Math.min(minStart, v);
-//            } else {
-//                allStartNumeric = false;
-//            }
-//
-//            String e = cfg.getEndRow();
-//            if (e != null && e.trim().matches("\\d+")) {
-//                int v = Integer.parseInt(e.trim());
-//                maxEnd = Math.max(maxEnd, v);
-//            } else {
-//                allEndNumeric = false;
-//            }
-//        }
-//
-//        // 如果所有 startRow 都是数字，才做开始行判断
-//        if (allStartNumeric && rowIndex < minStart) {
-//            return;
-//        }
-//        // 如果所有 endRow 都是数字，才做结束行判断
-//        if (allEndNumeric && rowIndex > maxEnd) {
-//            return;
-//        }
         if(ObjUtil.isNotNull(startRow)&&startRow!=-1 && rowIndex <startRow)return;
-        if(ObjUtil.isNotNull(endRow)&&endRow!=-1 && rowIndex > endRow)return;
-//        log.error("startRow:{},endRow:{},rowIndex:{}",startRow,endRow,rowIndex);
-        data.put(rowIndex, rowData);  // 经过边界过滤后，才真正处理这一行
-//        log.error("rowIndex:{}",rowIndex);
-//        log.error("rowData:{}",rowData);
-
+        // 已超过请求的结束行，后面的行都不需要，停止解析当前sheet
+        if(ObjUtil.isNotNull(endRow)&&endRow!=-1 && rowIndex > endRow){
+            stoppedEarly = true;
+            throw new ExcelAnalysisStopSheetException();
+        }
+        rowCount++;
+        // 开始/结束标志和动态表达式需要完整的行数据，先更新再做列投影
         if (expressionResolver != null) {
             expressionResolver.updateDynamicRowTablePosition(rowIndex, rowData);
             expressionResolver.updateDynamicStartRowTablePosition(rowIndex, rowData);
         }
+        if (rowBands == null || rowBands.contains(rowIndex)) {
+            Map<Integer, String> projected = projectRow(rowData);
+            ReadRow row = currentRow.reset(projected);
+            collectNumericCells(row, context);
+            if (rowHandler != null) {
+                rowHandler.accept(row, rowIndex);
+            } else {
+                // 经过边界过滤后，才真正处理这一行；最后一列按投影前的完整行计算
+                grid.addRow(rowIndex, projected, row.dateCount > 0 ? row::getDateSerial : null,
+                        row.rawCount > 0 ? row::getNumber : null, lastDataColumn(rowData));
+            }
+        }
+        // 已读过所有需要的行，并且开始/结束标志都已找到，后面的行不再需要
+        if (rowBands != null && rowIndex >= rowBands.getLastRow()
+                && (expressionResolver == null || !expressionResolver.hasPendingRowFlags())) {
+            log.debug("已读取到第{}行，所需行范围已全部读取，停止解析", rowIndex + 1);
+            stoppedEarly = true;
+            throw new ExcelAnalysisStopSheetException();
+        }
+    }
+
+    /**
+     * 列投影：只保留配置引用到的列
+     */
+    private Map<Integer, String> projectRow(Map<Integer, String> rowData) {
+        if (projectedColumns == null) {
+            keptCellCount += rowData.size();
+            return rowData;
+        }
+        Map<Integer, String> projected = new LinkedHashMap<>();
+        for (Map.Entry<Integer, String> cell : rowData.entrySet()) {
+            if (projectedColumns.contains(cell.getKey())) {
+                projected.put(cell.getKey(), cell.getValue());
+            }
+        }
+        keptCellCount += projected.size();
+        discardedCellCount += rowData.size() - projected.size();
+        return projected;
+    }
+
+    /**
+     * 保留的单元格中的数值单元格：日期格式的记下原始的日期序列号，按原始值读取时其他数值单元格记下原始值
+     * 单元格文本是按显示格式格式化后的值，原始值不受显示格式和区域影响，日期和数值字段由原始值直接转换
+     */
+    private void collectNumericCells(ReadRow row, AnalysisContext context) {
+        Map<Integer, Cell> cellMap = context.readRowHolder().getCellMap();
+        if (cellMap == null || row.cells.isEmpty()) {
+            return;
+        }
+        for (Map.Entry<Integer, String> entry : row.cells.entrySet()) {
+            if (entry.getValue() == null) {
+                continue;
+            }
+            Cell cell = cellMap.get(entry.getKey());
+            if (!(cell instanceof ReadCellData)) {
+                continue;
+            }
+            ReadCellData<?> cellData = (ReadCellData<?>) cell;
+            if (cellData.getType() != CellDataTypeEnum.NUMBER || cellData.getNumberValue() == null) {
+                continue;
+            }
+            double number = cellData.getNumberValue().doubleValue();
+            DataFormatData format = cellData.getDataFormatData();
+            if (format != null && DateUtils.isADateFormat(format.getIndex(), format.getFormat())) {
+                if (Boolean.TRUE.equals(context.readWorkbookHolder().globalConfiguration().getUse1904windowing())) {
+                    number += DAYS_1904_OFFSET;
+                }
+                row.addNumber(entry.getKey(), number, true);
+            } else if (rawNumericCells) {
+                row.addNumber(entry.getKey(), number, false);
+            }
+        }
+    }
+
+    /**
+     * 行中最右侧非空单元格的列索引，没有数据时返回-1
+     * 查找表格结束行/结束列时使用，列投影后仍然与完整行的判断一致
+     */
+    private int lastDataColumn(Map<Integer, String> rowData) {
+        int lastColumn = -1;
+        for (Map.Entry<Integer, String> cell : rowData.entrySet()) {
+            if (cell.getKey() > lastColumn && cell.getValue() != null && !cell.getValue().trim().isEmpty()) {
+                lastColumn = cell.getKey();
+            }
+        }
+        return lastColumn;
+    }
+
+    /**
+     * 合并单元格信息，在sheet的所有行之后收到
+     */
+    @Override
+    public void extra(CellExtra extra, AnalysisContext context) {
+        if (rowHandler == null && extra.getType() == CellExtraTypeEnum.MERGE) {
+            mergeRegions.add(new int[]{extra.getFirstRowIndex(), extra.getLastRowIndex(),
+                    extra.getFirstColumnIndex(), extra.getLastColumnIndex()});
+        }
     }
 
     @Override
     public void doAfterAllAnalysed(AnalysisContext context) {
+        grid.compact();
+        // 只有读完整个sheet才有完整的合并单元格信息；CSV没有合并单元格信息
+        if (rowHandler == null && !stoppedEarly
+                && context.readWorkbookHolder().getExcelType() != ExcelTypeEnum.CSV) {
+            grid.setMergeRegions(new MergeRegions(mergeRegions, projectedColumns));
+        }
         if (expressionResolver != null) this.isSuccess = expressionResolver.updateDynamicPosition();
     }
 
@@ -105,20 +231,110 @@ public class ExcelDataListener extends AnalysisEventListener<Map<Integer, String
      */
 
     /**
-     * 获取单元格值
+     * 数值单元格按原始值读取：保存单元格中的数值而不是显示的文本，数值字段直接使用原始值，需要在读取之前调用
+     * <p>
+     * 显示格式不再影响结果（显示为12.35的12.3456得到12.3456，显示为12%的单元格得到0.12），
+     * 这类单元格的文本是不带显示格式的十进制数。日期单元格不受影响。
      */
-    private String getCellValue(int row, int col) {
-        Map<Integer, String> rowData = data.get(row);
-        if (rowData == null) {
-            return null;
-        }
-        return rowData.get(col);
+    public void setRawNumericCells(boolean rawNumericCells) {
+        this.rawNumericCells = rawNumericCells;
+    }
+
+    /**
+     * 设置sheet数据的堆内存预算，超过后转存到临时文件，需要在读取之前调用
+     *
+     * @param memoryBudget 预算字节数，小于等于0表示不限制
+     */
+    public void setSheetMemoryBudget(long memoryBudget) {
+        this.grid = new SheetGrid(memoryBudget);
     }
 
-    public TreeMap<Integer, Map<Integer, String>> getData() {
+    /**
+     * sheet中是否有数据
+     * 按经过开始/结束行过滤后的行数判断，不受行范围裁剪影响；动态位置解析失败时视为没有数据
+     */
+    public boolean hasData() {
+        return isSuccess && rowCount > 0;
+    }
+
+    public SheetGrid getData() {
         if (!isSuccess) {
-            return new TreeMap<>();
+            grid.close();
+            return new SheetGrid();
+        }
+        return grid;
+    }
+
+    /**
+     * 当前行：列投影后的单元格文本，以及数值单元格的列、原始值和是否是日期（一行中需要的数值单元格不多，按顺序查找）
+     */
+    private static final class ReadRow implements RowCells {
+        private Map<Integer, String> cells;
+        private int[] numberColumns = new int[4];
+        private double[] numbers = new double[4];
+        private boolean[] dates = new boolean[4];
+        private int numberCount;
+        private int dateCount;
+        private int rawCount;
+
+        ReadRow reset(Map<Integer, String> cells) {
+            this.cells = cells;
+            this.numberCount = 0;
+            this.dateCount = 0;
+            this.rawCount = 0;
+            return this;
+        }
+
+        void addNumber(int column, double number, boolean date) {
+            if (numberCount == numberColumns.length) {
+                numberColumns = Arrays.copyOf(numberColumns, numberCount * 2);
+                numbers = Arrays.copyOf(numbers, numberCount * 2);
+                dates = Arrays.copyOf(dates, numberCount * 2);
+            }
+            numberColumns[numberCount] = column;
+            numbers[numberCount] = number;
+            dates[numberCount++] = date;
+            if (date) {
+                dateCount++;
+            } else {
+                rawCount++;
+            }
+        }
+
+        @Override
+        public String getText(int column) {
+            // 按原始值读取的数值单元格与缓存的sheet数据一样，文本由原始值生成
+            if (rawCount > 0) {
+                double number = getNumber(column);
+                if (!Double.isNaN(number)) {
+                    return SheetGrid.numberText(number);
+                }
+            }
+            return cells.get(column);
+        }
+
+        @Override
+        public double getDateSerial(int column) {
+            return find(column, true);
+        }
+
+        @Override
+        public double getNumber(int column) {
+            return find(column, false);
+        }
+
+        private double find(int column, boolean date) {
+            for (int i = 0; i < numberCount; i++) {
+                if (numberColumns[i] == column) {
+                    return dates[i] == date ? numbers[i] : Double.NaN;
+                }
+            }
+            return Double.NaN;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return cells.isEmpty();
         }
-        return data;
     }
 }
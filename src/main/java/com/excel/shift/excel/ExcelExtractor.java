@@ -1,127 +1,139 @@
 package com.excel.shift.excel;
 
-import com.alibaba.excel.EasyExcel;
-import com.alibaba.excel.read.metadata.ReadSheet;
 import com.alibaba.excel.util.StringUtils;
 import com.excel.shift.config.*;
 import com.excel.shift.config.response.ColumnDoubleValueResponse;
+import com.excel.shift.convert.ConversionResult;
+import com.excel.shift.convert.TypeConverter;
+import com.excel.shift.excel.BeanBinder.FieldSetter;
+import com.excel.shift.excel.ExtractionPlan.ColumnPlan;
+import com.excel.shift.excel.ExtractionPlan.ExtractorPlan;
+import com.excel.shift.excel.ExtractionPlan.FieldPlan;
+import com.excel.shift.excel.ExtractionPlan.MemberPlan;
 import com.excel.shift.facade.SimpleExtract;
 import com.excel.shift.result.ExtractionResult;
 import com.excel.shift.result.SheetExtractionResult;
 import com.excel.shift.util.ExcelCoordConverter;
 import com.excel.shift.util.JsonConfigReader;
+import lombok.AccessLevel;
 import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.dromara.hutool.core.text.StrUtil;
 import org.dromara.hutool.core.util.BooleanUtil;
 
 import java.io.IOException;
-import java.lang.reflect.Field;
-import java.math.BigDecimal;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
-import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.IntFunction;
 
 @Slf4j
 @Getter
-public class ExcelExtractor implements SimpleExtract {
-    // 常用的日期时间格式列表，按优先级从最具体到最通用排列
-    // 注意：这里的顺序很重要，因为它决定了尝试解析的顺序
-    private static final List<String> COMMON_DATE_TIME_PATTERNS = Arrays.asList(
-            "yyyy-MM-dd HH:mm:ss",     // 标准格式带秒
-            "yyyy/MM/dd HH:mm:ss",     // 斜杠分隔带秒
-            "yyyy-M-d HH:mm:ss",       // 单月单日带秒 (横线)
-            "yyyy/M/d HH:mm:ss",       // 单月单日带秒 (斜杠)
-            "yyyy-MM-dd HH:mm:ss",
-            "yyyy/MM/dd HH:mm:ss",
-            "yyyy-M-d HH:mm:ss",
-            "yyyy/M/d HH:mm:ss",
-            "yyyy/M/d HH:mm:ss",
-            "yyyy-MM-dd HH:mm",        // 标准格式不带秒
-            "yyyy/MM/dd HH:mm",        // 斜杠分隔不带秒
-            "yyyy-M-d HH:mm",          // 单月单日不带秒 (横线)
-            "yyyy/M/d HH:mm",          // 单月单日不带秒 (斜杠)
-            "yyyy-MM-dd HH:mm",
-            "yyyy/MM/dd HH:mm",
-            "yyyy-M-d HH:mm",
-            "yyyy/M/d HH:mm",
-            "yyyy-MM-dd",              // 只有日期 (标准)
-            "yyyy/MM/dd",              // 只有日期 (斜杠)
-            "yyyy-M-d",                // 只有日期 (单月单日，横线)
-            "yyyy/M/d",
-            "yyyy-MM-dd",
-            "yyyy/MM/dd",
-            "yyyy-M-d"
-    );
-    // 对于 java.util.Date，需要单独的模式列表，因为 SimpleDateFormat 不支持 java.time 的一些特性
-    private static final List<String> COMMON_UTIL_DATE_PATTERNS = Arrays.asList(
-            "yyyy-MM-dd HH:mm:ss",
-            "yyyy/MM/dd HH:mm:ss",
-            "yyyy-M-d HH:mm:ss",
-            "yyyy/M/d HH:mm:ss",
-            "yyyy/M/d HH:mm:ss",
-            "yyyy-M-d HH:mm:ss",
-            "yyyy/M/d HH:mm:ss",
-            "yyyy-MM-dd HH:mm:ss",
-            "yyyy/MM/dd HH:mm:ss",
-            "yyyy-M-d HH:mm",
-            "yyyy/M/d HH:mm",
-            "yyyy-MM-dd HH:mm",
-            "yyyy/MM/dd HH:mm",
-            "yyyy-MM-dd HH:mm",
-            "yyyy/MM/dd HH:mm",
-            "yyyy-M-d HH:mm",
-            "yyyy/M/d HH:mm",
-            "yyyy-MM-dd",
-            "yyyy/MM/dd",
-            "yyyy-MM-dd",
-            "yyyy/MM/dd",
-            "yyyy-M-d",
-            "yyyy-M-d",
-            "yyyy/M/d"
-    );
+public class ExcelExtractor implements SimpleExtract, AutoCloseable {
     private final String excelPath;
+    // Excel数据来源，按路径构造时在第一次读取前创建
+    @Getter(AccessLevel.NONE)
+    private ExcelSource source;
     private List<Class<?>> classList;
     private Request request;
-    private int totalSheetCount;
+    // 原始配置，使用提取计划构造时是计划共享的配置，不能被修改；getOriginalMappingConfig()返回副本
+    @Getter(AccessLevel.NONE)
     private ExcelMappingConfig originalMappingConfig;
     private ExcelMappingConfig mappingConfig;
-    private TreeMap<Integer, Map<Integer, String>> currentSheetData;
+    // 由配置和类列表编译得到的提取计划，可以通过getExtractionPlan()取出复用
+    private ExtractionPlan extractionPlan;
+    // 当前sheet解析后的配置中，提取器ID -> 提取器配置
+    @Getter(AccessLevel.NONE)
+    private Map<String, ExtractorConfig> sheetExtractors;
+    @Getter(AccessLevel.NONE)
+    private ExcelMappingConfig indexedMappingConfig;
+    private SheetGrid currentSheetData;
     private RequestForColumn requestForColumn;
     private Integer startRow = null;
     private Integer endRow = null;
     // 当前正在处理的结果对象，用于记录错误
     private SheetExtractionResult currentResult;
+    // 当前打开的工作簿会话，同一次提取中的所有sheet都通过它读取
+    @Getter(AccessLevel.NONE)
+    private ExcelWorkbookSession session;
+    // 流式模式：当sheet上所有提取器都是静态范围的LIST时，读取的同时逐行绑定对象，不缓存整张sheet
+    @Setter
+    private boolean streamingMode = false;
+    // 单个sheet数据的堆内存预算（字节），超过后转存到内存映射的临时文件；小于等于0表示不限制
+    @Setter
+    private long sheetMemoryBudget = 0;
+    // 数值单元格按原始值读取：数值字段直接使用单元格中的数值，不解析按显示格式格式化后的文本
+    @Setter
+    private boolean rawNumericCells = false;
+    // 单元格转换结果，每个提取上下文（包括并行提取时每个工作线程的上下文）一个，逐个单元格重复使用
+    @Getter(AccessLevel.NONE)
+    private final ConversionResult conversionResult = new ConversionResult();
 
     public ExcelExtractor(String excelPath, String configPath, List<Class<?>> classList) {
         this.excelPath = excelPath;
         this.classList = classList;
-        this.totalSheetCount = this.getSheetNames().size();
         this.originalMappingConfig = new ExcelMappingConfig(configPath);
         this.mappingConfig = this.originalMappingConfig.deepClone();
+        this.extractionPlan = ExtractionPlan.compile(originalMappingConfig, classList);
     }
 
     public ExcelExtractor(String excelPath, ExcelMappingConfig mappingConfig, List<Class<?>> classList) {
         this.excelPath = excelPath;
         this.classList = classList;
-        this.totalSheetCount = this.getSheetNames().size();
         this.originalMappingConfig = mappingConfig;
         this.mappingConfig = this.originalMappingConfig.deepClone();
+        this.extractionPlan = ExtractionPlan.compile(originalMappingConfig, classList);
+    }
+
+    /**
+     * 从任意数据来源（文件、byte[]、ByteBuffer、InputStream）提取
+     *
+     * @param source     Excel数据来源，例如 ExcelSource.of(uploadBytes)
+     * @param configPath 配置文件路径
+     * @param classList  需要提取的类列表
+     */
+    public ExcelExtractor(ExcelSource source, String configPath, List<Class<?>> classList) {
+        this(source, new ExcelMappingConfig(configPath), classList);
+    }
+
+    public ExcelExtractor(ExcelSource source, ExcelMappingConfig mappingConfig, List<Class<?>> classList) {
+        this.source = source;
+        this.excelPath = source.getName();
+        this.classList = classList;
+        this.originalMappingConfig = mappingConfig;
+        this.mappingConfig = this.originalMappingConfig.deepClone();
+        this.extractionPlan = ExtractionPlan.compile(originalMappingConfig, classList);
+    }
+
+    /**
+     * 使用已编译的提取计划，多个文件共用同一个计划时不再重复解析配置
+     *
+     * @param source         Excel数据来源
+     * @param extractionPlan 提取计划，例如 ExtractionPlan.compile(mappingConfig, classList)
+     */
+    public ExcelExtractor(ExcelSource source, ExtractionPlan extractionPlan) {
+        this.source = source;
+        this.excelPath = source.getName();
+        this.classList = extractionPlan.getClassList();
+        this.originalMappingConfig = extractionPlan.getMappingConfig();
+        this.mappingConfig = this.originalMappingConfig.deepClone();
+        this.extractionPlan = extractionPlan;
     }
 
     public ExcelExtractor(Request request) {
         this.request = request;
         this.excelPath = request.getFilePath();
         this.classList = request.getClassInfoList();
-        this.totalSheetCount = this.getSheetNames().size();
         this.originalMappingConfig = ExcelMappingConfig.buildExcelMappingConfig(request);
         this.mappingConfig = this.originalMappingConfig.deepClone();
-
+        this.extractionPlan = ExtractionPlan.compile(originalMappingConfig, classList);
     }
 
     public ExcelExtractor(RequestForColumn requestForColumn) {
@@ -131,34 +143,104 @@ public class ExcelExtractor implements SimpleExtract {
         this.endRow = requestForColumn.getEndRow();
     }
 
+    /**
+     * 并行提取时的工作线程副本：共享数据来源、原始配置和提取选项，sheet相关的状态各自独立
+     */
+    private ExcelExtractor(ExcelExtractor template) {
+        this.source = template.source;
+        this.excelPath = template.excelPath;
+        this.classList = template.classList;
+        this.request = template.request;
+        this.requestForColumn = template.requestForColumn;
+        this.startRow = template.startRow;
+        this.endRow = template.endRow;
+        this.originalMappingConfig = template.originalMappingConfig;
+        this.extractionPlan = template.extractionPlan;
+        this.streamingMode = template.streamingMode;
+        this.sheetMemoryBudget = template.sheetMemoryBudget;
+        this.rawNumericCells = template.rawNumericCells;
+    }
+
+    /**
+     * 打开工作簿会话并保持到close()为止
+     * 期间所有的提取调用（extractSheetByIndex、extractBySheetName、extractAllSheet等）都复用同一个文件句柄，
+     * 同一个sheet被再次提取时会话重新打开读取器
+     *
+     * @return 当前提取器，便于在try-with-resources中使用
+     */
+    public ExcelExtractor openSession() {
+        if (session == null) {
+            session = new ExcelWorkbookSession(source());
+        }
+        return this;
+    }
+
+    /**
+     * 关闭当前打开的工作簿会话
+     */
+    @Override
+    public void close() {
+        if (session != null) {
+            session.close();
+            session = null;
+        }
+        if (currentSheetData != null) {
+            currentSheetData.close();
+            currentSheetData = null;
+        }
+    }
+
+    /**
+     * 在工作簿会话中执行操作
+     * 如果已经打开了会话则直接复用，否则为本次操作临时打开一个会话，操作结束后关闭
+     */
+    private <R> R withSession(Function<ExcelWorkbookSession, R> action) {
+        if (session != null) {
+            return action.apply(session);
+        }
+        try (ExcelWorkbookSession opened = new ExcelWorkbookSession(source())) {
+            this.session = opened;
+            return action.apply(opened);
+        } finally {
+            this.session = null;
+        }
+    }
+
+    private ExcelSource source() {
+        if (source == null) {
+            source = ExcelSource.of(excelPath);
+        }
+        return source;
+    }
+
     private boolean loadSheetData(int sheetIndex) {
+        // 释放上一个sheet的数据
+        if (currentSheetData != null) {
+            currentSheetData.close();
+        }
+        final ExcelDataListener excelDataListener;
+        if (this.startRow != null || this.endRow != null) {
+            if (this.startRow == null) this.startRow = -1;
+            if (this.endRow == null) this.endRow = -1;
+            excelDataListener = new ExcelDataListener(mappingConfig, this.startRow, this.endRow);
+        } else excelDataListener = new ExcelDataListener(mappingConfig);
+        excelDataListener.setSheetMemoryBudget(sheetMemoryBudget);
+        excelDataListener.setRawNumericCells(rawNumericCells);
         try {
-            ExcelDataListener excelDataListener = null;
-            if (this.startRow != null || this.endRow != null) {
-                if (this.startRow == null) this.startRow = -1;
-                if (this.endRow == null) this.endRow = -1;
-                excelDataListener = new ExcelDataListener(mappingConfig, this.startRow, this.endRow);
-            } else excelDataListener = new ExcelDataListener(mappingConfig);
-            // 根据文件名判断Excel类型
-            boolean isXls = excelPath.toLowerCase().endsWith(".xls");
-            boolean isXlsx = excelPath.toLowerCase().endsWith(".xlsx");
-            if (!isXls && !isXlsx) {
-                throw new IllegalArgumentException("文件类型不支持，仅支持 .xls 和 .xlsx 文件");
-            }
             // 读取数据
-            EasyExcel.read(excelPath)
-                    .excelType(isXls ? com.alibaba.excel.support.ExcelTypeEnum.XLS : com.alibaba.excel.support.ExcelTypeEnum.XLSX)
-                    .sheet(sheetIndex)
-                    .headRowNumber(0)
-                    .registerReadListener(excelDataListener)
-                    .doRead();
+            withSession(workbook -> {
+                workbook.readSheet(sheetIndex, excelDataListener);
+                return null;
+            });
             this.currentSheetData = excelDataListener.getData();
-            if (currentSheetData.isEmpty()) {
+            recordCellStatistics(excelDataListener);
+            if (!excelDataListener.hasData()) {
                 return false;
             }
         } catch (Exception e) {
             log.error("读取sheet[{}]数据失败: {}", sheetIndex, e.getMessage());
-            this.currentSheetData = new TreeMap<>();
+            excelDataListener.getData().close();
+            this.currentSheetData = new SheetGrid();
             if (currentResult != null) {
                 currentResult.addError("读取sheet数据失败", e, "SheetLoader");
             }
@@ -168,6 +250,25 @@ public class ExcelExtractor implements SimpleExtract {
         return true;
     }
 
+    /**
+     * 把读取时的单元格保留/丢弃数量记录到当前sheet结果中
+     */
+    private void recordCellStatistics(ExcelDataListener excelDataListener) {
+        if (currentResult != null) {
+            currentResult.setCellStatistics(excelDataListener.getKeptCellCount(), excelDataListener.getDiscardedCellCount());
+            log.debug("sheet[{}]读取单元格: 保留{}个, 丢弃{}个", currentResult.getSheetIndex(),
+                    excelDataListener.getKeptCellCount(), excelDataListener.getDiscardedCellCount());
+        }
+    }
+
+    /**
+     * 原始配置的副本
+     * 使用提取计划构造时原始配置由计划、引擎和其他提取上下文共享，修改副本不会影响它们
+     */
+    public ExcelMappingConfig getOriginalMappingConfig() {
+        return originalMappingConfig == null ? null : originalMappingConfig.deepClone();
+    }
+
     /**
      * 获取Excel文件中的所有Sheet名称列表
      *
@@ -175,18 +276,19 @@ public class ExcelExtractor implements SimpleExtract {
      */
     public List<String> getSheetNames() {
         try {
-            return EasyExcel.read(excelPath)
-                    .build()
-                    .excelExecutor()
-                    .sheetList()
-                    .stream()
-                    .map(ReadSheet::getSheetName)
-                    .collect(Collectors.toList());
+            return withSession(ExcelWorkbookSession::getSheetNames);
         } catch (Exception e) {
             return new ArrayList<>();
         }
     }
 
+    /**
+     * 获取Excel文件中的sheet总数
+     */
+    public int getTotalSheetCount() {
+        return getSheetNames().size();
+    }
+
     /**
      * 提取指定sheet的数据到指定类型对象
      *
@@ -197,15 +299,16 @@ public class ExcelExtractor implements SimpleExtract {
     @SuppressWarnings("unchecked")
     public <T> Object extractData(int sheetIndex, Class<T> targetClass) {
         try {
-            // 根据类型查找对应的提取器配置
-            ExtractorConfig extractor = findExtractorForClass(targetClass.getName());
+            // 根据类型查找对应的提取器计划
+            ExtractorPlan plan = findPlanForClass(targetClass);
+            ExtractorConfig extractor = plan == null ? null : sheetExtractor(plan);
             if (extractor == null) {
                 log.warn("未找到类 {} 的提取器配置", targetClass.getName());
                 return null;
             }
 
             // 使用统一的数据提取方法，直接传递结果类型枚举
-            return extractObject(extractor, targetClass, extractor.getResultType());
+            return extractObject(extractor, plan, targetClass);
         } catch (Exception e) {
             log.error("数据提取失败: {}", e.getMessage());
             // 不再直接抛出异常，仅记录日志并返回null
@@ -217,29 +320,29 @@ public class ExcelExtractor implements SimpleExtract {
     /**
      * 统一的数据提取方法，基于结果类型选择对应的处理逻辑
      *
-     * @param extractor   提取器配置
+     * @param extractor   当前sheet解析后的提取器配置（行范围、动态字段位置）
+     * @param plan        提取器计划（列索引、字段、类型、正则表达式）
      * @param targetClass 目标类型
-     * @param resultType  结果类型枚举
      * @return 提取的对象或对象列表
      */
-    private <T> Object extractObject(ExtractorConfig extractor, Class<T> targetClass,
-                                     ExtractorConfig.ResultType resultType) throws Exception {
+    private <T> Object extractObject(ExtractorConfig extractor, ExtractorPlan plan, Class<T> targetClass) throws Exception {
+        ExtractorConfig.ResultType resultType = plan.getResultType();
         switch (resultType) {
             case SINGLE:
                 // 单个对象类型
-                T instance = targetClass.getDeclaredConstructor().newInstance();
+                Object instance = plan.newInstance();
                 // 提取基本字段
-                extractBasicFields(instance, extractor);
-                return instance;
+                extractBasicFields(instance, extractor, plan);
+                return targetClass.cast(plan.build(instance));
             case LIST:
                 // 普通列表类型
-                return extractObjectList(extractor, targetClass);
+                return extractObjectList(extractor, plan, targetClass);
             case GROUP_LIST:
                 // 行组列表类型
-                return extractGroupObjectList(extractor, targetClass);
+                return extractGroupObjectList(extractor, plan, targetClass);
             case VERTICAL_LIST:
                 // 垂直列表类型 - 每行代表一个字段，每列代表一个对象
-                return extractVerticalObjectList(extractor, targetClass);
+                return extractVerticalObjectList(extractor, plan, targetClass);
             default:
                 log.error("不支持的结果类型: {}", resultType);
                 return null;
@@ -249,26 +352,29 @@ public class ExcelExtractor implements SimpleExtract {
     /**
      * 提取对象列表
      */
-    private <T> List<T> extractObjectList(ExtractorConfig extractor, Class<T> elementType) throws Exception {
+    private <T> List<T> extractObjectList(ExtractorConfig extractor, ExtractorPlan plan, Class<T> elementType) throws Exception {
         List<T> resultList = new ArrayList<>();
         // 确定表格范围
         int startRow = resolveRowIndex(extractor.getStartRow());
-        String startColumn = extractor.getStartColumn();
-        int startCol = startColumn != null ? ExcelCoordConverter.columnNameToIndex(startColumn) : 0;
+        int startCol = plan.getStartColumn();
         int endRow = extractor.getEndRow() != null ? resolveRowIndex(extractor.getEndRow()) : findLastDataRow(startRow, startCol);
 
         // 提取表格数据，表格现在是单个对象而非数组
-        if (extractor.getTable() != null) {
-            TableConfig tableConfig = extractor.getTable(); // 直接获取表格配置
+        if (plan.hasTable()) {
+            // 没有合并单元格信息时，合并单元格列按自startRow以来最后一个非空值填充，随行向前推进
+            MergeCarry mergeCarry = currentSheetData.hasMergeInfo() ? null : new MergeCarry(plan);
             // 普通行数据提取
             for (int row = startRow; row <= endRow; row++) {
-                if (!currentSheetData.containsKey(row)) continue;
-                T rowInstance = elementType.getDeclaredConstructor().newInstance();
+                if (!currentSheetData.hasRow(row)) continue;
+                Object rowInstance = plan.newInstance();
                 // 取表格行数据   里面有可能有合并单元格
-                boolean hasTableData = extractTableRowToInstance(tableConfig, rowInstance, row, startCol, startRow, extractor.getId());
+                boolean hasTableData = extractTableRowToInstance(plan, rowInstance, row, startRow, mergeCarry);
+                if (mergeCarry != null) {
+                    mergeCarry.advance(currentSheetData.row(row));
+                }
                 // 如果行有效，添加到结果集
                 if (hasTableData) {
-                    resultList.add(rowInstance);
+                    resultList.add(elementType.cast(plan.build(rowInstance)));
                 }
             }
         }
@@ -278,101 +384,190 @@ public class ExcelExtractor implements SimpleExtract {
     /**
      * 提取表格行数据到指定对象实例
      * 返回是否提取到有效数据
+     *
+     * @param mergeCarry 没有合并单元格信息时，合并单元格列上方最近的非空值；有合并单元格信息时为null
      */
-    private <T> boolean extractTableRowToInstance(TableConfig tableConfig, T instance, int row, int startCol, int startRow, String extractorId) {
-        int success = 0;
-        int cntMerge = 0;
+    private <T> boolean extractTableRowToInstance(ExtractorPlan plan, T instance, int row, int startRow,
+                                                  MergeCarry mergeCarry) {
+        if (!currentSheetData.hasCells(row)) {
+            return false;
+        }
+        if (mergeCarry == null) {
+            // 按工作簿的合并区域取区域左上角的值，不在合并区域中的空单元格保持为空
+            return bindTableRow(plan, instance, currentSheetData.row(row), row,
+                    col -> currentSheetData.getMergedValue(row, col, startRow));
+        }
+        return bindTableRow(plan, instance, currentSheetData.row(row), row, mergeCarry::get);
+    }
 
-        try {
-            Map<Integer, String> rowData = currentSheetData.get(row);
-            if (rowData == null || rowData.isEmpty()) {
-                return false;
+    /**
+     * 合并单元格列自startRow以来最后一个非空值
+     * 逐行向前推进，合并单元格列为空时直接取这个值，不再向上回扫已读的行
+     */
+    private static final class MergeCarry {
+        private final List<Integer> mergeColumns = new ArrayList<>();
+        // 合并单元格列索引 -> 最近一个非空值
+        private final Map<Integer, String> values = new HashMap<>();
+
+        MergeCarry(ExtractorPlan plan) {
+            for (ColumnPlan column : plan.getColumns()) {
+                // 列名错误会在绑定时记录到错误集合
+                if (column.isMergeType() && column.hasColumnIndex()) {
+                    mergeColumns.add(column.getColumnIndex());
+                }
             }
-            for (Map.Entry<String, ColumnConfig> entry : tableConfig.getColumns().entrySet()) {
-                ColumnConfig column = entry.getValue();
-                try {
-                    // 获取字段并设置可访问
-                    Field field = instance.getClass().getDeclaredField(column.getJavaFieldName());
-                    field.setAccessible(true);
-                    // 计算列索引
-                    int col = ExcelCoordConverter.columnNameToIndex(column.getColumnCell());
-                    // 获取单元格值
-                    String cellValue = rowData.get(col);
-                    if (StringUtils.isEmpty(cellValue) && BooleanUtil.isTrue(column.getIsMergeType())) {
-                        // 如果是合并单元格类型并且为null，则尝试从向上查找获取值
-                        for (int i = row - 1; i >= startRow; i--) {
-                            Map<Integer, String> rData = currentSheetData.get(i);
-                            if (rData != null && rData.containsKey(col)) {
-                                String cValue = rData.get(col);
-                                if (StrUtil.isNotEmpty(cValue)) {
-                                    cellValue = cValue;
-                                    cntMerge++;
-                                    break;
-                                }
-                            }
-                        }
-                    }
-                    if (StrUtil.isNotEmpty(cellValue)) {
-                        if (StrUtil.isNotEmpty(column.getExtractPattern())) {
-                            String extractedValue = extractValueByPattern(cellValue.trim(), column.getExtractPattern());
-                            if (extractedValue != null) {
-                                cellValue = extractedValue;
-                            }
-                        }
-                        // 转换值并设置到对象字段
-                        Object convertedValue = convertValue(cellValue.trim(), column.getJavaFieldType(), null);
-                        if (convertedValue != null) {
-                            field.set(instance, convertedValue);
-                            success++;
-                        }
-                    }
-                } catch (NoSuchFieldException e) {
-                    String message = "提取字段[" + column.getJavaFieldName() + "]失败: 未找到这个java字段" + e.getMessage();
-                    log.error(message);
-                    // 添加到错误集合
-                    if (currentResult != null) {
-                        currentResult.addError(message, e, extractorId, row + 1, column.getColumnCell());
-                    }
-                } catch (Exception e) {
-                    String message = "提取字段[" + column.getJavaFieldName() + "]失败: " + e.getMessage();
-                    log.error(message);
-                    // 添加到错误集合
-                    if (currentResult != null) {
-                        currentResult.addError(message, e, extractorId, row + 1, column.getColumnCell());
-                    }
+        }
+
+        String get(int col) {
+            return values.get(col);
+        }
+
+        /**
+         * 处理完一行后调用，记下该行合并单元格列的非空值
+         */
+        void advance(RowCells rowCells) {
+            for (Integer col : mergeColumns) {
+                String value = rowCells.getText(col);
+                if (StrUtil.isNotEmpty(value)) {
+                    values.put(col, value);
                 }
             }
+        }
+    }
+
+    /**
+     * 将一行数据绑定到对象实例
+     * 由行映射器（通用实现或构建时生成的实现）逐列取值赋值
+     *
+     * @param rowCells    该行的单元格
+     * @param mergeLookup 合并单元格列为空时，根据列索引查找合并单元格的值（合并区域左上角的值或上方最近的非空值）
+     * @return 是否提取到有效数据（仅有合并单元格补充的值不算有效行）
+     */
+    private <T> boolean bindTableRow(ExtractorPlan plan, T instance, RowCells rowCells, int row,
+                                     IntFunction<String> mergeLookup) {
+        TableRow tableRow = new TableRow(plan, rowCells, row, mergeLookup);
+        try {
+            plan.getRowMapper().mapRow(instance, tableRow);
         } catch (Exception e) {
             String message = "提取行数据失败: " + e.getMessage();
             log.error(message);
             // 添加到错误集合
             if (currentResult != null) {
-                currentResult.addError(message, e, extractorId, row + 1, null);
+                currentResult.addError(message, e, plan.getExtractorId(), row + 1, null);
             }
             return false;
         }
-        return cntMerge < success;
+        return tableRow.cntMerge < tableRow.success;
+    }
+
+    /**
+     * 表格的当前行，供行映射器按列取值和赋值
+     */
+    private class TableRow implements RowMapper.Row {
+        private final ExtractorPlan plan;
+        private final List<ColumnPlan> columns;
+        private final RowCells rowCells;
+        private final int row;
+        private final IntFunction<String> mergeLookup;
+        private int success;
+        private int cntMerge;
+
+        TableRow(ExtractorPlan plan, RowCells rowCells, int row, IntFunction<String> mergeLookup) {
+            this.plan = plan;
+            this.columns = plan.getColumns();
+            this.rowCells = rowCells;
+            this.row = row;
+            this.mergeLookup = mergeLookup;
+        }
+
+        @Override
+        public Object value(int index) throws Exception {
+            return convert(index).getValue();
+        }
+
+        @Override
+        public ConversionResult convert(int index) throws Exception {
+            ColumnPlan column = columns.get(index);
+            // 字段不存在时在读取单元格之前报错
+            column.getSetter();
+            // 列索引
+            int col = column.getColumnIndex();
+            // 获取单元格值
+            String cellValue = rowCells.getText(col);
+            // 日期单元格的序列号和数值单元格的原始值，合并单元格补充的值和配置了提取模式的列按文本转换
+            double dateSerial = Double.NaN;
+            double number = Double.NaN;
+            if (StringUtils.isEmpty(cellValue) && column.isMergeType()) {
+                // 如果是合并单元格类型并且为null，则尝试从向上查找获取值
+                String mergedValue = mergeLookup.apply(col);
+                if (StrUtil.isNotEmpty(mergedValue)) {
+                    cellValue = mergedValue;
+                    cntMerge++;
+                }
+            } else if (StrUtil.isEmpty(column.getExtractPattern())) {
+                dateSerial = rowCells.getDateSerial(col);
+                number = rowCells.getNumber(col);
+            }
+            if (StrUtil.isEmpty(cellValue)) {
+                return conversionResult.success(null);
+            }
+            if (StrUtil.isNotEmpty(column.getExtractPattern())) {
+                String extractedValue = extractValueByPattern(cellValue.trim(), column);
+                if (extractedValue != null) {
+                    cellValue = extractedValue;
+                }
+            }
+            // 转换值
+            return ExcelExtractor.this.convert(cellValue.trim(), dateSerial, number, column, null);
+        }
+
+        @Override
+        public void assigned() {
+            success++;
+        }
+
+        @Override
+        public void assign(int index, Object bean, Object value) throws Exception {
+            columns.get(index).getSetter().set(bean, value);
+            success++;
+        }
+
+        @Override
+        public void assign(int index, Object bean, ConversionResult result) throws Exception {
+            columns.get(index).getSetter().set(bean, result);
+            success++;
+        }
+
+        @Override
+        public void fail(int index, Exception e) {
+            ColumnPlan column = columns.get(index);
+            String message = e instanceof NoSuchFieldException
+                    ? "提取字段[" + column.getJavaFieldName() + "]失败: 未找到这个java字段" + e.getMessage()
+                    : "提取字段[" + column.getJavaFieldName() + "]失败: " + e.getMessage();
+            log.error(message);
+            // 添加到错误集合
+            if (currentResult != null) {
+                currentResult.addError(message, e, plan.getExtractorId(), row + 1, column.getColumn().getColumnCell());
+            }
+        }
     }
 
     /**
      * 提取基本字段到对象
      */
-    private <T> void extractBasicFields(T targetObject, ExtractorConfig extractor) {
+    private <T> void extractBasicFields(T targetObject, ExtractorConfig extractor, ExtractorPlan plan) {
         Map<String, FieldConfig> fields = extractor.getFields();
         if (fields == null || fields.isEmpty()) {
             return;
         }
 
-        for (Map.Entry<String, FieldConfig> entry : fields.entrySet()) {
+        for (FieldPlan field : plan.getFields()) {
             try {
-                FieldConfig field = entry.getValue();
-                // 获取字段并设置可访问
-                Field javaField = targetObject.getClass().getDeclaredField(field.getJavaFieldName());
-                javaField.setAccessible(true);
+                // 获取字段
+                FieldSetter setter = field.getSetter();
 
-                // 获取单元格坐标 - 使用工具类直接转换
-                com.excel.shift.util.ExcelCoordConverter.CellPosition cellPos =
-                        com.excel.shift.util.ExcelCoordConverter.excelCoordToPosition(field.getExcelCell());
+                // 获取单元格坐标，动态字段使用当前sheet解析后的位置
+                ExcelCoordConverter.CellPosition cellPos = field.getCellPosition(fields.get(field.getKey()));
 
                 // 获取单元格值
                 String cellValue = getCellValue(cellPos.row, cellPos.column);
@@ -380,7 +575,7 @@ public class ExcelExtractor implements SimpleExtract {
                 // 应用提取模式
                 String extractedValue = cellValue;
                 if (cellValue != null && field.getExtractPattern() != null) {
-                    extractedValue = extractValueByPattern(cellValue, field.getExtractPattern());
+                    extractedValue = extractValueByPattern(cellValue, field);
                     // 如果提取失败，使用原始值
                     if (extractedValue == null) {
                         extractedValue = cellValue;
@@ -388,22 +583,23 @@ public class ExcelExtractor implements SimpleExtract {
                 }
 
                 // 转换值
-                Object convertedValue = null;
+                ConversionResult converted = null;
                 if (extractedValue != null && !extractedValue.trim().isEmpty()) {
-                    convertedValue = convertValue(extractedValue.trim(), field.getJavaFieldType(), field.getExtractPattern());
+                    converted = convertCell(extractedValue.trim(), cellPos.row, cellPos.column, field,
+                            field.getExtractPattern());
                 }
 
                 // 如果值为空且有默认值，使用默认值
-                if (convertedValue == null && field.getDefaultValue() != null) {
-                    convertedValue = convertValue(field.getDefaultValue(), field.getJavaFieldType(), field.getExtractPattern());
+                if ((converted == null || !converted.hasValue()) && field.getDefaultValue() != null) {
+                    converted = convert(field.getDefaultValue(), field, field.getExtractPattern());
                 }
 
                 // 设置值
-                if (convertedValue != null) {
-                    javaField.set(targetObject, convertedValue);
+                if (converted != null && converted.hasValue()) {
+                    setter.set(targetObject, converted);
                 }
             } catch (Exception e) {
-                String message = "提取字段[" + entry.getKey() + "]失败: " + e.getMessage();
+                String message = "提取字段[" + field.getKey() + "]失败: " + e.getMessage();
                 log.error(message, e);
                 // 添加到错误集合
                 if (currentResult != null) {
@@ -414,22 +610,15 @@ public class ExcelExtractor implements SimpleExtract {
     }
 
     /**
-     * 使用正则表达式提取值
+     * 使用正则表达式提取值，正则表达式在编译提取计划时已经编译好，简单的形式不经过java.util.regex
      */
-    private String extractValueByPattern(String input, String pattern) {
+    private String extractValueByPattern(String input, MemberPlan member) {
+        String pattern = member.getExtractPattern();
         if (input == null || pattern == null) {
             return null;
         }
         try {
-            java.util.regex.Pattern p = java.util.regex.Pattern.compile(pattern);
-            java.util.regex.Matcher m = p.matcher(input);
-            if (m.find()) {
-                if (m.groupCount() > 0) {
-                    return m.group(1);
-                } else {
-                    return m.group();
-                }
-            }
+            return member.getPattern().extract(input);
         } catch (Exception e) {
             String message = "使用正则表达式[" + pattern + "]提取值[" + input + "]失败: " + e.getMessage();
             log.error(message, e);
@@ -445,17 +634,22 @@ public class ExcelExtractor implements SimpleExtract {
      * 获取单元格值
      */
     private String getCellValue(int row, int col) {
-        // 先检查当前sheet数据
-        Map<Integer, String> rowData = currentSheetData.get(row);
-        if (rowData != null) {
-            return rowData.get(col);
+        return currentSheetData.getCellValue(row, col);
+    }
+
+    /**
+     * 转换sheet数据中的单元格：日期单元格和按原始值读取的数值单元格直接使用原始值，配置了提取模式时按提取出的文本转换
+     */
+    private ConversionResult convertCell(String value, int row, int col, MemberPlan member, String pattern) {
+        if (StrUtil.isNotEmpty(member.getExtractPattern())) {
+            return convert(value, member, pattern);
         }
-        return null;
+        return convert(value, currentSheetData.getDateSerial(row, col), currentSheetData.getNumber(row, col), member, pattern);
     }
 
     private int findGroupDataRow(int startRow, int startCol, int groupRowCount) {
 //        int lastRow = startRow;
-        return currentSheetData.lastKey();
+        return currentSheetData.lastRow();
 //         return currentSheetData.size()+1;
 
         // 从开始行向下搜索
@@ -493,23 +687,15 @@ public class ExcelExtractor implements SimpleExtract {
         int lastRow = startRow;
         // 从开始行向下搜索
         for (int row = startRow; row < Integer.MAX_VALUE; row++) {
-            if (!currentSheetData.containsKey(row)) {
+            if (!currentSheetData.hasRow(row)) {
                 if (row > startRow + 3) { // 连续3行没数据认为结束
                     break;
                 }
                 continue;
             }
 
-            Map<Integer, String> rowData = currentSheetData.get(row);
-            boolean hasData = false;
-
             // 检查行中是否有数据
-            for (Map.Entry<Integer, String> cell : rowData.entrySet()) {
-                if (cell.getKey() >= startCol && cell.getValue() != null && !cell.getValue().trim().isEmpty()) {
-                    hasData = true;
-                    break;
-                }
-            }
+            boolean hasData = currentSheetData.lastDataColumn(row) >= startCol;
 
             if (hasData) {
                 lastRow = row;
@@ -533,165 +719,72 @@ public class ExcelExtractor implements SimpleExtract {
     }
 
 
-    private Date parseUtilDate(String value, String pattern) throws ParseException {
-        if (value == null || value.isBlank()) {
-            return null;
-        }
-
-        if (pattern != null && !pattern.isEmpty()) {
-            SimpleDateFormat sdf = new SimpleDateFormat(pattern);
-            sdf.setLenient(false);
-            return sdf.parse(value);
-        } else {
-            for (String p : COMMON_UTIL_DATE_PATTERNS) {
-                try {
-                    SimpleDateFormat sdf = new SimpleDateFormat(p);
-                    sdf.setLenient(false);
-                    return sdf.parse(value);
-                } catch (ParseException ignored) {
-                    // 尝试下一个格式
-                }
-            }
-            throw new ParseException("无法解析日期: " + value + "，尝试了所有通用格式。", 0);
-        }
-    }
-
-
-    private LocalDate parseLocalDate(String value, String pattern) {
-        if (pattern != null && !pattern.isEmpty()) {
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern(pattern);
-            if (pattern.contains("H") || pattern.contains("m") || pattern.contains("s")) {
-                return LocalDateTime.parse(value, formatter).toLocalDate();
-            } else {
-                return LocalDate.parse(value, formatter);
-            }
-        } else {
-            // 否则尝试所有常用日期格式 (只包含日期部分)
-            for (String p : COMMON_DATE_TIME_PATTERNS) {
-                DateTimeFormatter formatter = DateTimeFormatter.ofPattern(p);
-                try {
-                    if (p.contains("H") || p.contains("m") || p.contains("s")) {
-                        return (LocalDate) LocalDateTime.parse(value, formatter).toLocalDate();
-                    } else {
-                        return LocalDate.parse(value, formatter);
-                    }
-                } catch (Exception ignored) {
-
-                }
-            }
-            throw new DateTimeParseException("无法解析 LocalDate: " + value + "，尝试了所有通用日期格式。", value, 0);
-        }
-    }
-
-    private LocalDateTime parseLocalDateTime(String value, String pattern) {
-        if (pattern != null && !pattern.isEmpty()) {
-            // 如果指定了 pattern，就只用指定的
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern(pattern);
-            return LocalDateTime.parse(value, formatter);
-        } else {
-            // 否则尝试所有常用日期时间格式
-            for (String p : COMMON_DATE_TIME_PATTERNS) {
-                try {
-                    DateTimeFormatter formatter = DateTimeFormatter.ofPattern(p);
-                    if (p.contains("H") || p.contains("m") || p.contains("s")) {
-                        return LocalDateTime.parse(value, formatter);
-                    } else {
-                        return LocalDate.parse(value, formatter).atStartOfDay(); // 补时间 00:00:00
-                    }
-                } catch (DateTimeParseException e) {
-                    // 尝试下一个格式
-                }
-            }
-            // 如果所有格式都尝试失败，则抛出异常
-            throw new DateTimeParseException("无法解析 LocalDateTime: " + value + "，尝试了所有通用格式。", value, 0);
-        }
-    }
-
-
     /**
-     * 将字符串值转换为指定Java类型
+     * 将字符串值转换为指定Java类型，结果写入上下文重复使用的{@link ConversionResult}
+     * <p>
+     * 格式错误的单元格不创建异常，只记录为一条错误，返回没有值的结果；数值和布尔类型的结果是基本类型的值，
+     * 通过{@link FieldSetter#set(Object, ConversionResult)}写入基本类型字段时不装箱。
+     * 返回的对象在下一次转换时被覆盖，需要在那之前读取
      *
      * @param value   要转换的字符串值
-     * @param type    目标Java类型
+     * @param member  目标字段的计划，转换器已在编译计划时确定
      * @param pattern 格式模式（如日期格式）
-     * @return 转换后的值
+     * @return 转换结果，值为空或转换失败时没有值
+     */
+    private ConversionResult convert(String value, MemberPlan member, String pattern) {
+        return convert(value, Double.NaN, Double.NaN, member, pattern);
+    }
+
+    /**
+     * 转换单元格的值，日期格式的数值单元格由日期序列号转换，按原始值读取的数值单元格使用原始值，不解析文本
+     *
+     * @param value      单元格文本
+     * @param dateSerial 日期单元格的序列号，其他单元格为NaN
+     * @param number     按原始值读取的数值单元格的值，其他单元格为NaN
+     * @param member     目标字段的计划
+     * @param pattern    格式模式（如日期格式）
+     * @return 转换结果，值为空或转换失败时没有值
      */
-    private Object convertValue(String value, String type, String pattern) {
+    private ConversionResult convert(String value, double dateSerial, double number, MemberPlan member, String pattern) {
         if (value == null || value.trim().isEmpty()) {
-            return null;
+            return conversionResult.success(null);
         }
         String cleanValue = value.trim();
-        try {
-            switch (type.toLowerCase()) {
-                case "string":
-                case "java.lang.string":
-                    return cleanValue;
-                case "int":
-                case "integer":
-                case "java.lang.integer":
-                    // 处理可能包含非数字字符的情况
-                    String intStr = cleanValue.replaceAll("[^\\d-]", "");
-                    if (intStr.isEmpty()) return null;
-                    return Integer.parseInt(intStr);
-                case "long":
-                case "java.lang.long":
-                    String longStr = cleanValue.replaceAll("[^\\d-]", "");
-                    if (longStr.isEmpty()) return null;
-                    return Long.parseLong(longStr);
-                case "float":
-                case "java.lang.float":
-                    // 处理中文逗号和其他可能影响解析的字符
-                    String floatStr = cleanValue.replace(",", "").replace("，", "");
-                    if (floatStr.isEmpty() || floatStr.equals("-")) return null;
-                    return Float.parseFloat(floatStr);
-                case "double":
-                case "java.lang.double":
-                    String doubleStr = cleanValue.replace(",", "").replace("，", "");
-                    if (doubleStr.isEmpty() || doubleStr.equals("-")) return null;
-                    return Double.parseDouble(doubleStr);
-                case "boolean":
-                case "java.lang.boolean":
-                    return Boolean.parseBoolean(cleanValue) ||
-                            "是".equals(cleanValue) ||
-                            "yes".equalsIgnoreCase(cleanValue) ||
-                            "true".equalsIgnoreCase(cleanValue) ||
-                            "1".equals(cleanValue);
-                case "bigdecimal":
-                case "java.math.bigdecimal":
-                    return new BigDecimal(cleanValue);
-                case "date":
-                case "java.util.date":
-                    // 默认返回 java.util.Date
-                    return parseUtilDate(cleanValue, pattern);
-                case "localdate":
-                case "java.time.localdate":
-                    return parseLocalDate(cleanValue, pattern);
-                case "localdatetime":
-                case "java.time.localdatetime":
-                    return parseLocalDateTime(cleanValue, pattern);
-                case "enum":
-                    // 枚举处理（需要额外的类型信息）
-                    // 这里可以扩展为从模式中提取枚举类名
-                    return cleanValue;
-                default:
-                    // 默认作为字符串处理
-                    return cleanValue;
-            }
-        } catch (NumberFormatException e) {
-            String message = "转换值 [" + cleanValue + "] 到数值类型 [" + type + "] 失败: " + e.getMessage();
+        TypeConverter<?> converter = member.getConverter();
+        ConversionResult result;
+        if (converter == null) {
+            result = conversionResult.failure("javaFieldType为空");
+        } else if (!Double.isNaN(dateSerial)) {
+            result = converter.convertDateSerial(dateSerial, cleanValue, pattern, conversionResult);
+        } else if (!Double.isNaN(number)) {
+            result = converter.convertNumber(number, cleanValue, pattern, conversionResult);
+        } else {
+            result = converter.convert(cleanValue, pattern, conversionResult);
+        }
+        if (result.isSuccess()) {
+            return result;
+        }
+        String type = member.getJavaFieldType();
+        Exception cause = result.getCause();
+        if (result.isInvalidNumber()) {
+            String message = "转换值 [" + cleanValue + "] 到数值类型 [" + type + "] 失败: " + result.getMessage();
             log.warn(message);
             if (currentResult != null) {
-                currentResult.addError(message, e, null);
+                currentResult.addError(message, cause, null);
+            }
+        } else {
+            String message = "转换值 [" + cleanValue + "] 到类型 [" + type + "] 失败: " + result.getMessage();
+            // 只有自定义转换器抛出的异常才有堆栈
+            if (cause != null) {
+                log.error(message, cause);
+            } else {
+                log.error(message);
             }
-            return null;
-        } catch (Exception e) {
-            String message = "转换值 [" + cleanValue + "] 到类型 [" + type + "] 失败: " + e.getMessage();
-            log.error(message, e);
             if (currentResult != null) {
-                currentResult.addError(message, e, null);
+                currentResult.addError(message, cause, null);
             }
-            return null;
         }
+        return result.success(null);
     }
 
 
@@ -757,6 +850,16 @@ public class ExcelExtractor implements SimpleExtract {
 
         // 创建结果对象
         this.currentResult = new SheetExtractionResult(sheetIndex, sheetName);
+        if (streamingMode && isSheetStreamable()) {
+            // 流式模式：读取的同时完成提取
+            if (BooleanUtil.isFalse(extractSheetStreaming(sheetIndex))) {
+                log.error("加载解析Sheet[{}]数据失败", sheetIndex);
+                currentResult.setSuccess(false);
+                currentResult.addError("加载Sheet数据失败", null, null);
+                return currentResult;
+            }
+            return finishSheetResult(sheetIndex);
+        }
         // 加载sheet数据
         if (BooleanUtil.isFalse(loadSheetData(sheetIndex))) {
             log.error("加载解析Sheet[{}]数据失败", sheetIndex);
@@ -769,7 +872,8 @@ public class ExcelExtractor implements SimpleExtract {
         for (Class<?> clazz : classList) {
             try {
                 // 查找此类型的提取器配置
-                ExtractorConfig config = findExtractorForClass(clazz.getName());
+                ExtractorPlan plan = findPlanForClass(clazz);
+                ExtractorConfig config = plan == null ? null : sheetExtractor(plan);
                 if (config == null) {
                     log.warn("未找到类 {} 的提取器配置", clazz.getName());
                     currentResult.addError("未找到对应类的配置信息", null, clazz.getName());
@@ -778,7 +882,7 @@ public class ExcelExtractor implements SimpleExtract {
 
                 // 提取数据
                 try {
-                    Object extractedData = extractDataWithErrorHandling(sheetIndex, clazz, currentResult, config);
+                    Object extractedData = extractDataWithErrorHandling(sheetIndex, clazz, currentResult, config, plan);
                     if (extractedData != null) {
                         currentResult.addResult(clazz, extractedData);
                         log.info("成功提取类型 {} 的数据", clazz.getName());
@@ -795,6 +899,14 @@ public class ExcelExtractor implements SimpleExtract {
             }
         }
 
+        return finishSheetResult(sheetIndex);
+    }
+
+    /**
+     * 结束当前sheet的提取，返回结果对象
+     */
+    private SheetExtractionResult finishSheetResult(int sheetIndex) {
+        releaseSpilledSheetData();
         // 如果有任何错误，将结果标记为失败
         if (currentResult.hasErrors()) {
             currentResult.setSuccess(false);
@@ -806,6 +918,152 @@ public class ExcelExtractor implements SimpleExtract {
         return result;
     }
 
+    /**
+     * 当前sheet的数据已转存到临时文件时，提取结束后立即删除临时文件
+     */
+    private void releaseSpilledSheetData() {
+        if (currentSheetData != null && currentSheetData.isSpilled()) {
+            currentSheetData.close();
+            currentSheetData = new SheetGrid();
+        }
+    }
+
+    /**
+     * 判断当前sheet的所有提取器是否都可以使用流式模式
+     */
+    private boolean isSheetStreamable() {
+        boolean hasExtractor = false;
+        for (Class<?> clazz : classList) {
+            ExtractorPlan plan = findPlanForClass(clazz);
+            ExtractorConfig config = plan == null ? null : sheetExtractor(plan);
+            if (config == null) {
+                continue;
+            }
+            if (!isStreamable(config)) {
+                log.debug("提取器[{}]不满足流式提取条件，sheet使用普通模式提取", config.getId());
+                return false;
+            }
+            hasExtractor = true;
+        }
+        return hasExtractor;
+    }
+
+    /**
+     * 判断提取器能否使用流式模式
+     * 只有静态范围的LIST提取器（startRow、endRow都是数字，没有动态表达式和开始/结束标志）才能在行到达时直接绑定
+     */
+    private boolean isStreamable(ExtractorConfig extractor) {
+        if (extractor.getResultType() != ExtractorConfig.ResultType.LIST || extractor.getTable() == null
+                || extractor.getTable().getColumns() == null) {
+            return false;
+        }
+        if (BooleanUtil.isTrue(extractor.getIsDynamic()) || BooleanUtil.isTrue(extractor.getIsDynamicRows())
+                || extractor.getStartFlag() != null || extractor.getEndFlag() != null) {
+            return false;
+        }
+        if (!isStaticRow(extractor.getStartRow()) || !isStaticRow(extractor.getEndRow())) {
+            return false;
+        }
+        return extractor.getTable().getColumns().values().stream()
+                .noneMatch(column -> BooleanUtil.isTrue(column.getIsDynamic()));
+    }
+
+    private boolean isStaticRow(String rowStr) {
+        return rowStr != null && rowStr.matches("\\d+");
+    }
+
+    /**
+     * 流式提取sheet数据
+     * 每行数据从SAX解析器到达时立即绑定为目标对象，内存中只保留当前行和结果列表
+     *
+     * @return sheet中是否有数据
+     */
+    private boolean extractSheetStreaming(int sheetIndex) {
+        Map<Class<?>, StreamingListCollector<?>> collectors = new LinkedHashMap<>();
+        for (Class<?> clazz : classList) {
+            ExtractorPlan plan = findPlanForClass(clazz);
+            ExtractorConfig config = plan == null ? null : sheetExtractor(plan);
+            if (config == null) {
+                log.warn("未找到类 {} 的提取器配置", clazz.getName());
+                currentResult.addError("未找到对应类的配置信息", null, clazz.getName());
+                continue;
+            }
+            collectors.put(clazz, new StreamingListCollector<>(config, plan, clazz));
+        }
+
+        ExcelDataListener excelDataListener = new ExcelDataListener(mappingConfig, (rowData, rowIndex) -> {
+            for (StreamingListCollector<?> collector : collectors.values()) {
+                collector.accept(rowIndex, rowData);
+            }
+        });
+        excelDataListener.setRawNumericCells(rawNumericCells);
+        try {
+            withSession(workbook -> {
+                workbook.readSheet(sheetIndex, excelDataListener);
+                return null;
+            });
+        } catch (Exception e) {
+            log.error("读取sheet[{}]数据失败: {}", sheetIndex, e.getMessage());
+            currentResult.addError("读取sheet数据失败", e, "SheetLoader");
+            throw new RuntimeException(e);
+        }
+        recordCellStatistics(excelDataListener);
+        if (excelDataListener.getRowCount() == 0) {
+            return false;
+        }
+
+        for (Map.Entry<Class<?>, StreamingListCollector<?>> entry : collectors.entrySet()) {
+            StreamingListCollector<?> collector = entry.getValue();
+            if (collector.failure != null) {
+                continue;
+            }
+            currentResult.addResult(entry.getKey(), collector.resultList);
+            log.info("成功提取类型 {} 的数据", entry.getKey().getName());
+        }
+        return true;
+    }
+
+    /**
+     * 流式LIST提取的行收集器
+     * 合并单元格列不再向上回扫，而是记住自startRow以来最后一个非空值
+     */
+    private class StreamingListCollector<T> {
+        private final ExtractorPlan plan;
+        private final Class<T> elementType;
+        private final int startRow;
+        private final int endRow;
+        private final MergeCarry mergeCarry;
+        private final List<T> resultList = new ArrayList<>();
+        private Exception failure;
+
+        StreamingListCollector(ExtractorConfig extractor, ExtractorPlan plan, Class<T> elementType) {
+            this.plan = plan;
+            this.elementType = elementType;
+            this.startRow = resolveRowIndex(extractor.getStartRow());
+            this.endRow = resolveRowIndex(extractor.getEndRow());
+            this.mergeCarry = new MergeCarry(plan);
+        }
+
+        void accept(int row, RowCells rowData) {
+            if (failure != null || row < startRow || row > endRow || rowData.isEmpty()) {
+                return;
+            }
+            try {
+                Object rowInstance = plan.newInstance();
+                if (bindTableRow(plan, rowInstance, rowData, row, mergeCarry::get)) {
+                    resultList.add(elementType.cast(plan.build(rowInstance)));
+                }
+            } catch (Exception e) {
+                String message = "数据提取失败: " + e.getMessage();
+                log.error(message, e);
+                currentResult.addError(message, e, plan.getExtractorId());
+                failure = e;
+                return;
+            }
+            mergeCarry.advance(rowData);
+        }
+    }
+
     /**
      * 带错误处理的数据提取方法
      *
@@ -813,14 +1071,16 @@ public class ExcelExtractor implements SimpleExtract {
      * @param targetClass 目标类
      * @param result      结果对象，用于添加错误信息
      * @param config      提取器配置
+     * @param plan        提取器计划
      * @return 提取的对象或对象列表
      */
     @SuppressWarnings("unchecked")
     private <T> Object extractDataWithErrorHandling(int sheetIndex, Class<T> targetClass,
-                                                    SheetExtractionResult result, ExtractorConfig config) {
+                                                    SheetExtractionResult result, ExtractorConfig config,
+                                                    ExtractorPlan plan) {
         try {
             // 使用统一的数据提取方法，直接传递结果类型枚举
-            return extractObject(config, targetClass, config.getResultType());
+            return extractObject(config, plan, targetClass);
         } catch (NumberFormatException e) {
             // 数字格式错误
             String message = "数值转换错误: " + e.getMessage();
@@ -848,13 +1108,140 @@ public class ExcelExtractor implements SimpleExtract {
      * @return 包含所有sheet所有类型提取结果的对象
      */
     public ExtractionResult extractAllSheet() {
-        // 获取所有sheet
-        List<String> sheetNames = getSheetNames();
-        ExtractionResult result = new ExtractionResult(this.totalSheetCount);
-        // 对每个sheet进行处理
+        // 整个提取过程只打开一次工作簿
+        boolean ownSession = session == null;
+        if (ownSession) {
+            try {
+                openSession();
+            } catch (Exception e) {
+                log.error("打开Excel文件失败: {}", e.getMessage());
+                return new ExtractionResult(0);
+            }
+        }
+        try {
+            // 获取所有sheet
+            List<String> sheetNames = session.getSheetNames();
+            int totalSheetCount = sheetNames.size();
+            ExtractionResult result = new ExtractionResult(totalSheetCount);
+            // 对每个sheet进行处理
+            int cnt = 0;
+            for (int i = 0; i < totalSheetCount; i++) {
+                SheetExtractionResult sheetResult = extractSheetByIndex(i);
+                if (!sheetResult.isSuccess()) {
+                    log.error("sheet:{}解析失败", sheetNames.get(i));
+                } else {
+                    log.info("sheet:{}解析成功", sheetNames.get(i));
+                    cnt++;
+                }
+                result.addSheetResult(i, sheetResult);
+                this.mappingConfig = this.originalMappingConfig.deepClone();
+            }
+            log.info("共提取: {}个sheet 成功: {}个 失败: {}个", totalSheetCount, cnt, totalSheetCount - cnt);
+            return result;
+        } finally {
+            if (ownSession) {
+                close();
+            }
+        }
+    }
+
+    /**
+     * 提取选中的sheet，结果按sheet索引保存，未选中的sheet不出现在结果中
+     *
+     * @param selector 需要提取的sheet
+     * @return 包含选中sheet提取结果的对象
+     */
+    public ExtractionResult extractSheets(SheetSelector selector) {
+        if (selector.isAll()) {
+            return extractAllSheet();
+        }
+        return withSession(workbook -> {
+            List<String> sheetNames = workbook.getSheetNames();
+            ExtractionResult result = new ExtractionResult(sheetNames.size());
+            for (int sheetIndex : selector.resolve(sheetNames)) {
+                this.mappingConfig = this.originalMappingConfig.deepClone();
+                result.addSheetResult(sheetIndex, extractAllFromSheet(sheetIndex));
+            }
+            return result;
+        });
+    }
+
+    /**
+     * 并行提取所有sheet
+     * 每个工作线程使用独立的提取器副本：各自打开工作簿读取器，各自持有克隆的配置、动态表达式解析状态和sheet数据，
+     * 线程之间只共享只读的原始配置和数据来源。结果按sheet索引合并，与串行提取的结果一致。
+     *
+     * @param parallelism 最大并发线程数，小于等于1时按串行提取
+     * @return 包含所有sheet所有类型提取结果的对象
+     */
+    public ExtractionResult extractAllSheet(int parallelism) {
+        if (parallelism <= 1) {
+            return extractAllSheet();
+        }
+        final List<String> sheetNames;
+        try {
+            sheetNames = withSession(ExcelWorkbookSession::getSheetNames);
+        } catch (Exception e) {
+            log.error("打开Excel文件失败: {}", e.getMessage());
+            return new ExtractionResult(0);
+        }
+        int totalSheetCount = sheetNames.size();
+        ExtractionResult result = new ExtractionResult(totalSheetCount);
+        if (totalSheetCount == 0) {
+            return result;
+        }
+        // 先在当前线程确定数据来源，工作线程共享同一个ExcelSource
+        source();
+        int threadCount = Math.min(parallelism, totalSheetCount);
+        SheetExtractionResult[] sheetResults = new SheetExtractionResult[totalSheetCount];
+        AtomicInteger nextSheet = new AtomicInteger();
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount, runnable -> {
+            Thread thread = new Thread(runnable, "excel-sheet-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> futures = new ArrayList<>(threadCount);
+            for (int t = 0; t < threadCount; t++) {
+                futures.add(executor.submit(() -> {
+                    // 每个工作线程一个提取器副本，依次领取下一个未处理的sheet
+                    try (ExcelExtractor worker = new ExcelExtractor(this)) {
+                        worker.openSession();
+                        int sheetIndex;
+                        while ((sheetIndex = nextSheet.getAndIncrement()) < totalSheetCount) {
+                            worker.mappingConfig = originalMappingConfig.deepClone();
+                            try {
+                                sheetResults[sheetIndex] = worker.extractAllFromSheet(sheetIndex);
+                            } catch (Exception e) {
+                                log.error("提取sheet[{}]时发生错误: {}", sheetIndex, e.getMessage(), e);
+                                sheetResults[sheetIndex] = failedSheetResult(sheetIndex, sheetNames.get(sheetIndex), e);
+                            }
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    log.error("sheet提取线程异常: {}", e.getCause().getMessage(), e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("并行提取被中断");
+        } finally {
+            executor.shutdownNow();
+        }
+
         int cnt = 0;
-        for (int i = 0; i < sheetNames.size(); i++) {
-            SheetExtractionResult sheetResult = extractSheetByIndex(i);
+        for (int i = 0; i < totalSheetCount; i++) {
+            SheetExtractionResult sheetResult = sheetResults[i];
+            if (sheetResult == null) {
+                sheetResult = failedSheetResult(i, sheetNames.get(i), null);
+            }
             if (!sheetResult.isSuccess()) {
                 log.error("sheet:{}解析失败", sheetNames.get(i));
             } else {
@@ -862,12 +1249,18 @@ public class ExcelExtractor implements SimpleExtract {
                 cnt++;
             }
             result.addSheetResult(i, sheetResult);
-            this.mappingConfig = this.originalMappingConfig.deepClone();
         }
-        log.info("共提取: {}个sheet 成功: {}个 失败: {}个", totalSheetCount, cnt, totalSheetCount - cnt);
+        log.info("共提取: {}个sheet 成功: {}个 失败: {}个 并发线程: {}", totalSheetCount, cnt, totalSheetCount - cnt, threadCount);
         return result;
     }
 
+    private SheetExtractionResult failedSheetResult(int sheetIndex, String sheetName, Exception e) {
+        SheetExtractionResult sheetResult = new SheetExtractionResult(sheetIndex, sheetName);
+        sheetResult.setSuccess(false);
+        sheetResult.addError("提取sheet失败", e, null);
+        return sheetResult;
+    }
+
     /**
      * 从指定sheet中提取所有已配置类型的数据（推荐使用的主要方法）
      * 这是一个简洁的接口，是extractAllFromSheet的别名
@@ -876,19 +1269,35 @@ public class ExcelExtractor implements SimpleExtract {
      * @return 包含所有类型提取结果的Sheet结果对象
      */
     public SheetExtractionResult extractSheetByIndex(int sheetIndex) {
-        return extractAllFromSheet(sheetIndex);
+        return withSession(workbook -> extractAllFromSheet(sheetIndex));
+    }
+
+    /**
+     * 根据类查找对应的提取器计划
+     * 不在类列表中的类（直接调用extractData时）临时编译一份计划
+     */
+    private ExtractorPlan findPlanForClass(Class<?> clazz) {
+        ExtractorPlan plan = extractionPlan.forClass(clazz);
+        if (plan == null && !extractionPlan.getClassList().contains(clazz)) {
+            plan = ExtractionPlan.compile(originalMappingConfig, List.of(clazz)).forClass(clazz);
+        }
+        return plan;
     }
 
     /**
-     * 根据类名查找对应的提取器配置
+     * 当前sheet解析后的配置中，计划对应的提取器配置（行范围、动态字段位置随sheet变化）
+     * 配置对象更换（每个sheet重新克隆）后重建索引
      */
-    private ExtractorConfig findExtractorForClass(String className) {
-        for (ExtractorConfig extractor : mappingConfig.getAllExtractors()) {
-            if (className.equals(extractor.getTargetClass())) {
-                return extractor;
+    private ExtractorConfig sheetExtractor(ExtractorPlan plan) {
+        if (indexedMappingConfig != mappingConfig) {
+            Map<String, ExtractorConfig> index = new HashMap<>();
+            for (ExtractorConfig extractor : mappingConfig.getAllExtractors()) {
+                index.putIfAbsent(extractor.getId(), extractor);
             }
+            this.sheetExtractors = index;
+            this.indexedMappingConfig = mappingConfig;
         }
-        return null;
+        return sheetExtractors.get(plan.getExtractorId());
     }
 
     /**
@@ -929,24 +1338,23 @@ public class ExcelExtractor implements SimpleExtract {
      * @return 提取结果
      */
     public SheetExtractionResult extractBySheetName(String sheetName) {
-        return extractAllFromSheetName(sheetName);
+        return withSession(workbook -> extractAllFromSheetName(sheetName));
     }
 
     // 添加方法来获取指定sheet的数据
-    private Map<Integer, Map<Integer, String>> getSheetData(int sheetIndex) {
+    private SheetGrid getSheetData(int sheetIndex) {
         try {
             ExcelDataListener excelDataListener = new ExcelDataListener(mappingConfig);
-            boolean isXls = excelPath.toLowerCase().endsWith(".xls");
-            EasyExcel.read(excelPath)
-                    .excelType(isXls ? com.alibaba.excel.support.ExcelTypeEnum.XLS : com.alibaba.excel.support.ExcelTypeEnum.XLSX)
-                    .sheet(sheetIndex)
-                    .headRowNumber(0)
-                    .registerReadListener(excelDataListener)
-                    .doRead();
+            excelDataListener.setSheetMemoryBudget(sheetMemoryBudget);
+            excelDataListener.setRawNumericCells(rawNumericCells);
+            withSession(workbook -> {
+                workbook.readSheet(sheetIndex, excelDataListener);
+                return null;
+            });
             return excelDataListener.getData();
         } catch (Exception e) {
             log.error("获取sheet[{}]数据失败: {}", sheetIndex, e.getMessage());
-            return new HashMap<>();
+            return new SheetGrid();
         }
     }
 
@@ -954,7 +1362,7 @@ public class ExcelExtractor implements SimpleExtract {
      * 提取对象组列表 - 专用于GROUP_LIST类型
      * 该方法将多行数据组合成一个对象   此方法用于提取标准形式的行组数据
      */
-    private <T> List<T> extractGroupObjectList(ExtractorConfig extractor, Class<T> elementType) throws Exception {
+    private <T> List<T> extractGroupObjectList(ExtractorConfig extractor, ExtractorPlan plan, Class<T> elementType) throws Exception {
         List<T> resultList = new ArrayList<>();
 
         // 确定表格范围
@@ -977,64 +1385,62 @@ public class ExcelExtractor implements SimpleExtract {
         // 计算组数
         int groupCount = (endRow - startRow + 1) / groupRowCount;
         // 提取表格数据
-        if (extractor.getTable() != null) {
-            TableConfig tableConfig = extractor.getTable();
-
+        if (plan.hasTable()) {
             // 逐组处理数据
             for (int groupIndex = 0; groupIndex < groupCount; groupIndex++) {
                 int groupStartRow = startRow + groupIndex * groupRowCount;
 
                 // 检查是否有足够的数据行
-                if (!currentSheetData.containsKey(groupStartRow)) continue;
+                if (!currentSheetData.hasRow(groupStartRow)) continue;
 
                 // 创建当前组的对象实例
-                T groupInstance = elementType.getDeclaredConstructor().newInstance();
+                Object groupInstance = plan.newInstance();
                 boolean hasData = false;
 
                 // 处理组内每个列的数据
-                for (Map.Entry<String, ColumnConfig> entry : tableConfig.getColumns().entrySet()) {
-                    ColumnConfig column = entry.getValue();
+                for (ColumnPlan column : plan.getColumns()) {
                     try {
-                        // 获取字段并设置可访问
-                        Field field = groupInstance.getClass().getDeclaredField(column.getJavaFieldName());
-                        field.setAccessible(true);
+                        // 获取字段
+                        FieldSetter setter = column.getSetter();
 
                         // 确定从组内哪一行取值（默认第一行）
-                        int groupRowIndex = column.getGroupRowIndex() != null ? column.getGroupRowIndex() : 1;
+                        int groupRowIndex = column.getGroupRowIndex();
                         // 计算实际行号（groupRowIndex是从1开始的）
                         int actualRow = groupStartRow + groupRowIndex - 1;
                         // 检查行是否存在
-                        if (!currentSheetData.containsKey(actualRow)) continue;
+                        if (!currentSheetData.hasRow(actualRow)) continue;
 
-                        // 计算列索引
-                        int col = ExcelCoordConverter.columnNameToIndex(column.getColumnCell());
+                        // 列索引
+                        int col = column.getColumnIndex();
 
                         // 获取单元格值  特判一下三行的情况
-                        String cellValue = currentSheetData.get(actualRow).get(col);
+                        String cellValue = currentSheetData.getCellValue(actualRow, col);
+                        // 取值的行，日期单元格从这一行读取序列号
+                        int valueRow = actualRow;
                         if (groupRowCount == 3&&StrUtil.isEmpty(cellValue)) {
                             if (StringUtils.isEmpty(cellValue)) {
-                                if (column.getGroupRowIndex().equals(1)) {
-                                    cellValue = currentSheetData.get(actualRow + 1).get(col);
-                                } else if (column.getGroupRowIndex().equals(3)) {
-                                    log.error(currentSheetData.get(actualRow - 1).get(col));
-                                    cellValue = currentSheetData.get(actualRow - 1).get(col);
+                                if (column.getColumn().getGroupRowIndex().equals(1)) {
+                                    valueRow = actualRow + 1;
+                                    cellValue = currentSheetData.getCellValue(valueRow, col);
+                                } else if (column.getColumn().getGroupRowIndex().equals(3)) {
+                                    log.error(currentSheetData.getCellValue(actualRow - 1, col));
+                                    valueRow = actualRow - 1;
+                                    cellValue = currentSheetData.getCellValue(valueRow, col);
                                 }
 
                             }
                         }
                         if (StringUtils.isEmpty(cellValue)) {
                             // 对于合并单元格，可能需要特殊处理
-                            if (BooleanUtil.isTrue(column.getIsMergeType())) {
+                            if (column.isMergeType()) {
                                 // 尝试从组内其他行查找值
                                 for (int i = 0; i < groupRowCount; i++) {
                                     int searchRow = groupStartRow + i;
-                                    if (currentSheetData.containsKey(searchRow) &&
-                                            currentSheetData.get(searchRow).containsKey(col)) {
-                                        String value = currentSheetData.get(searchRow).get(col);
-                                        if (!StringUtils.isEmpty(value)) {
-                                            cellValue = value;
-                                            break;
-                                        }
+                                    String value = currentSheetData.getCellValue(searchRow, col);
+                                    if (!StringUtils.isEmpty(value)) {
+                                        cellValue = value;
+                                        valueRow = searchRow;
+                                        break;
                                     }
                                 }
                             }
@@ -1044,16 +1450,16 @@ public class ExcelExtractor implements SimpleExtract {
                         if (!StringUtils.isEmpty(cellValue)) {
                             // 应用提取模式（如果有）
                             if (!StringUtils.isEmpty(column.getExtractPattern())) {
-                                String extractedValue = extractValueByPattern(cellValue.trim(), column.getExtractPattern());
+                                String extractedValue = extractValueByPattern(cellValue.trim(), column);
                                 if (extractedValue != null) {
                                     cellValue = extractedValue;
                                 }
                             }
 
                             // 转换值并设置到对象字段
-                            Object convertedValue = convertValue(cellValue.trim(), column.getJavaFieldType(), null);
-                            if (convertedValue != null) {
-                                field.set(groupInstance, convertedValue);
+                            ConversionResult converted = convertCell(cellValue.trim(), valueRow, col, column, null);
+                            if (converted.hasValue()) {
+                                setter.set(groupInstance, converted);
                                 hasData = true;
                             }
                         }
@@ -1061,13 +1467,13 @@ public class ExcelExtractor implements SimpleExtract {
                         String message = "提取字段[" + column.getJavaFieldName() + "]失败: " + e.getMessage();
                         log.error(message, e);
                         if (currentResult != null) {
-                            currentResult.addError(message, e, extractor.getId(), groupStartRow + 1, column.getColumnCell());
+                            currentResult.addError(message, e, extractor.getId(), groupStartRow + 1, column.getColumn().getColumnCell());
                         }
                     }
                 }
                 // 如果组有有效数据，添加到结果集
                 if (hasData) {
-                    resultList.add(groupInstance);
+                    resultList.add(elementType.cast(plan.build(groupInstance)));
                 }
             }
         }
@@ -1080,7 +1486,7 @@ public class ExcelExtractor implements SimpleExtract {
      * 提取垂直对象列表 - 专用于VERTICAL_LIST类型
      * 该方法将垂直排列的数据转换为对象列表，每行代表一个字段，每列代表一个对象
      */
-    private <T> List<T> extractVerticalObjectList(ExtractorConfig extractor, Class<T> elementType) throws Exception {
+    private <T> List<T> extractVerticalObjectList(ExtractorConfig extractor, ExtractorPlan plan, Class<T> elementType) throws Exception {
         List<T> resultList = new ArrayList<>();
 
         // 确定表格范围
@@ -1090,8 +1496,7 @@ public class ExcelExtractor implements SimpleExtract {
         } else {
             startRow = 0;
         }
-        String startColumnStr = extractor.getStartColumn();
-        int startCol = startColumnStr != null ? ExcelCoordConverter.columnNameToIndex(startColumnStr) : 0;
+        int startCol = plan.getStartColumn();
 
         // 如果有endRow则使用，否则使用endFlag或自动查找最后一行
         int endRow;
@@ -1107,17 +1512,13 @@ public class ExcelExtractor implements SimpleExtract {
                 startRow + 1, endRow + 1, ExcelCoordConverter.indexToColumnName(startCol), ExcelCoordConverter.indexToColumnName(endCol));
 
         // 提取表格数据
-        if (extractor.getTable() != null) {
-            TableConfig tableConfig = extractor.getTable();
-
+        if (plan.hasTable()) {
             // 对每列数据创建一个对象（每列代表一个完整的对象）
             for (int col = startCol; col <= endCol; col++) {
                 // 检查该列是否有数据
                 boolean hasData = false;
                 for (int row = startRow; row <= endRow; row++) {
-                    if (currentSheetData.containsKey(row) &&
-                            currentSheetData.get(row).containsKey(col) &&
-                            !StringUtils.isEmpty(currentSheetData.get(row).get(col))) {
+                    if (!StringUtils.isEmpty(currentSheetData.getCellValue(row, col))) {
                         hasData = true;
                         break;
                     }
@@ -1129,19 +1530,17 @@ public class ExcelExtractor implements SimpleExtract {
                 }
 
                 // 为当前列创建一个新对象
-                T columnInstance = elementType.getDeclaredConstructor().newInstance();
+                Object columnInstance = plan.newInstance();
                 boolean validInstance = false;
 
                 // 处理配置的每个字段
-                for (Map.Entry<String, ColumnConfig> entry : tableConfig.getColumns().entrySet()) {
-                    ColumnConfig column = entry.getValue();
+                for (ColumnPlan column : plan.getColumns()) {
                     try {
-                        // 获取字段并设置可访问
-                        Field field = columnInstance.getClass().getDeclaredField(column.getJavaFieldName());
-                        field.setAccessible(true);
+                        // 获取字段
+                        FieldSetter setter = column.getSetter();
 
                         // 获取字段所在行（通过rowCell指定）
-                        if (column.getRowCell() == null) {
+                        if (!column.hasRowCell()) {
                             String message = "垂直列表配置错误：字段 " + column.getJavaFieldName() + " 未指定rowCell";
                             log.warn(message);
                             if (currentResult != null) {
@@ -1150,30 +1549,30 @@ public class ExcelExtractor implements SimpleExtract {
                             continue;
                         }
 
-                        // 计算行索引
-                        int fieldRow = resolveRowIndex(column.getRowCell());
+                        // 行索引
+                        int fieldRow = column.getRowIndex();
 
                         // 检查行是否存在
-                        if (!currentSheetData.containsKey(fieldRow)) {
+                        if (!currentSheetData.hasRow(fieldRow)) {
                             continue;
                         }
 
                         // 获取单元格值
-                        String cellValue = currentSheetData.get(fieldRow).get(col);
+                        String cellValue = currentSheetData.getCellValue(fieldRow, col);
 
                         if (StrUtil.isNotEmpty(cellValue)) {
                             // 应用提取模式
                             if (StrUtil.isNotEmpty(column.getExtractPattern())) {
-                                String extractedValue = extractValueByPattern(cellValue.trim(), column.getExtractPattern());
+                                String extractedValue = extractValueByPattern(cellValue.trim(), column);
                                 if (extractedValue != null) {
                                     cellValue = extractedValue;
                                 }
                             }
 
                             // 转换值并设置到对象字段
-                            Object convertedValue = convertValue(cellValue.trim(), column.getJavaFieldType(), null);
-                            if (convertedValue != null) {
-                                field.set(columnInstance, convertedValue);
+                            ConversionResult converted = convertCell(cellValue.trim(), fieldRow, col, column, null);
+                            if (converted.hasValue()) {
+                                setter.set(columnInstance, converted);
                                 validInstance = true;
                             }
                         }
@@ -1181,7 +1580,7 @@ public class ExcelExtractor implements SimpleExtract {
                         String message = "提取垂直列表字段[" + column.getJavaFieldName() + "]失败: " + e.getMessage();
                         log.error(message, e);
                         if (currentResult != null) {
-                            int fieldRow = column.getRowCell() != null ? resolveRowIndex(column.getRowCell()) : -1;
+                            int fieldRow = column.hasRowCell() ? resolveRowIndex(column.getColumn().getRowCell()) : -1;
                             currentResult.addError(message, e, extractor.getId(), fieldRow + 1, ExcelCoordConverter.indexToColumnName(col));
                         }
                     }
@@ -1189,7 +1588,7 @@ public class ExcelExtractor implements SimpleExtract {
 
                 // 如果对象有效，添加到结果列表
                 if (validInstance) {
-                    resultList.add(columnInstance);
+                    resultList.add(elementType.cast(plan.build(columnInstance)));
                 }
             }
         }
@@ -1206,21 +1605,8 @@ public class ExcelExtractor implements SimpleExtract {
 
         // 遍历所有行，找出最大的列索引
         for (int row = startRow; row <= endRow; row++) {
-            if (!currentSheetData.containsKey(row)) {
-                continue;
-            }
-
-            // 获取行数据
-            Map<Integer, String> rowData = currentSheetData.get(row);
-            if (rowData == null || rowData.isEmpty()) {
-                continue;
-            }
-
-            // 查找该行中最大的列索引
-            int maxColIndex = rowData.keySet().stream()
-                    .filter(col -> col >= startCol && !StringUtils.isEmpty(rowData.get(col)))
-                    .max(Integer::compareTo)
-                    .orElse(startCol);
+            // 该行中最大的有数据的列索引
+            int maxColIndex = currentSheetData.lastDataColumn(row);
 
             // 更新最后一列
             lastCol = Math.max(lastCol, maxColIndex);
@@ -1251,9 +1637,16 @@ public class ExcelExtractor implements SimpleExtract {
             response.setUnit(columnInfo.getUnit());
             // 收集该列所有行的值
             List<Double> columnValues = new ArrayList<>();
-            for (Map.Entry<Integer, Map<Integer, String>> rowEntry : currentSheetData.entrySet()) {
-                int colIndex = ExcelCoordConverter.columnNameToIndex(columnInfo.getColumnCell()); // 获取列索引
-                Object value = rowEntry.getValue().get(colIndex);
+            int colIndex = ExcelCoordConverter.columnNameToIndex(columnInfo.getColumnCell()); // 获取列索引
+            for (int row = currentSheetData.firstRow(); row <= currentSheetData.lastRow(); row++) {
+                if (!currentSheetData.hasRow(row)) continue;
+                // 按原始值读取的数值单元格直接使用原始值
+                double number = currentSheetData.getNumber(row, colIndex);
+                if (!Double.isNaN(number)) {
+                    columnValues.add(number);
+                    continue;
+                }
+                Object value = currentSheetData.getCellValue(row, colIndex);
 //                 log.info(rowEntry.toString());
 //                 log.info("行号: " + rowEntry.getKey() + ", 列名: " + columnInfo.getColumnCell()+"列号 " + colIndex+ ", 值: " + value);
 //                log.info("列[" + colIndex + "]的值: " + value);
@@ -1273,6 +1666,7 @@ public class ExcelExtractor implements SimpleExtract {
             response.setColumnValues(columnValues);
             result.add(response);
         }
+        releaseSpilledSheetData();
         return result;
     }
 }
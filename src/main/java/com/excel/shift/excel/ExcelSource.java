@@ -0,0 +1,194 @@
+package com.excel.shift.excel;
+
+import com.alibaba.excel.EasyExcel;
+import com.alibaba.excel.ExcelReader;
+import com.alibaba.excel.enums.CellExtraTypeEnum;
+import com.alibaba.excel.support.ExcelTypeEnum;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Objects;
+
+/**
+ * Excel数据来源：文件路径，或已经在内存中的字节数据
+ * 文件格式按文件头的魔数判断（OLE2为xls，ZIP为xlsx），不依赖文件扩展名；
+ * 内存中的数据直接交给EasyExcel读取，不落盘
+ */
+public final class ExcelSource {
+
+    // OLE2复合文档（xls）文件头
+    private static final byte[] OLE2_SIGNATURE = {(byte) 0xD0, (byte) 0xCF, 0x11, (byte) 0xE0, (byte) 0xA1, (byte) 0xB1, 0x1A, (byte) 0xE1};
+    // ZIP（xlsx）文件头
+    private static final byte[] ZIP_SIGNATURE = {0x50, 0x4B, 0x03, 0x04};
+
+    private final String name;
+    private final Path path;
+    private final byte[] bytes;
+    private final int offset;
+    private final int length;
+    private ExcelTypeEnum excelType;
+
+    private ExcelSource(String name, Path path, byte[] bytes, int offset, int length) {
+        this.name = name;
+        this.path = path;
+        this.bytes = bytes;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * 文件路径
+     */
+    public static ExcelSource of(String excelPath) {
+        Objects.requireNonNull(excelPath, "Excel文件路径不能为空");
+        return new ExcelSource(excelPath, Paths.get(excelPath), null, 0, 0);
+    }
+
+    /**
+     * 文件路径
+     */
+    public static ExcelSource of(Path excelPath) {
+        Objects.requireNonNull(excelPath, "Excel文件路径不能为空");
+        return new ExcelSource(excelPath.toString(), excelPath, null, 0, 0);
+    }
+
+    /**
+     * 内存中的Excel文件内容，不会复制数组，读取期间不要修改
+     */
+    public static ExcelSource of(byte[] bytes) {
+        Objects.requireNonNull(bytes, "Excel数据不能为空");
+        return new ExcelSource("byte[" + bytes.length + "]", null, bytes, 0, bytes.length);
+    }
+
+    /**
+     * ByteBuffer中从position到limit的数据，堆内缓冲区不复制，直接缓冲区复制一份
+     */
+    public static ExcelSource of(ByteBuffer buffer) {
+        Objects.requireNonNull(buffer, "Excel数据不能为空");
+        String name = "ByteBuffer[" + buffer.remaining() + "]";
+        if (buffer.hasArray()) {
+            return new ExcelSource(name, null, buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+        }
+        byte[] copy = new byte[buffer.remaining()];
+        buffer.duplicate().get(copy);
+        return new ExcelSource(name, null, copy, 0, copy.length);
+    }
+
+    /**
+     * 输入流，会一次性读入内存（多个sheet需要多次读取，流只能消费一次），不会关闭传入的流
+     */
+    public static ExcelSource of(InputStream inputStream) {
+        Objects.requireNonNull(inputStream, "Excel输入流不能为空");
+        try {
+            byte[] bytes = inputStream.readAllBytes();
+            return new ExcelSource("InputStream[" + bytes.length + "]", null, bytes, 0, bytes.length);
+        } catch (IOException e) {
+            throw new UncheckedIOException("读取Excel输入流失败", e);
+        }
+    }
+
+    /**
+     * 数据来源的描述：文件路径，或内存数据的类型和长度
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 文件路径，内存数据返回null
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    public boolean isInMemory() {
+        return bytes != null;
+    }
+
+    /**
+     * 判断Excel格式：优先按文件头魔数，无法识别时再按文件扩展名
+     */
+    public ExcelTypeEnum getExcelType() {
+        if (excelType == null) {
+            excelType = detectExcelType();
+        }
+        return excelType;
+    }
+
+    /**
+     * 创建EasyExcel读取器，同时读取合并单元格信息
+     */
+    ExcelReader openReader() {
+        ExcelTypeEnum type = getExcelType();
+        if (isInMemory()) {
+            return EasyExcel.read(new ByteArrayInputStream(bytes, offset, length))
+                    .excelType(type)
+                    .mandatoryUseInputStream(true)
+                    .extraRead(CellExtraTypeEnum.MERGE)
+                    .build();
+        }
+        return EasyExcel.read(path.toFile())
+                .excelType(type)
+                .extraRead(CellExtraTypeEnum.MERGE)
+                .build();
+    }
+
+    private ExcelTypeEnum detectExcelType() {
+        byte[] header = new byte[OLE2_SIGNATURE.length];
+        int headerLength;
+        if (isInMemory()) {
+            headerLength = Math.min(header.length, length);
+            System.arraycopy(bytes, offset, header, 0, headerLength);
+        } else {
+            headerLength = readFileHeader(header);
+        }
+        if (startsWith(header, headerLength, OLE2_SIGNATURE)) {
+            return ExcelTypeEnum.XLS;
+        }
+        if (startsWith(header, headerLength, ZIP_SIGNATURE)) {
+            return ExcelTypeEnum.XLSX;
+        }
+        // 文件头无法识别（或文件无法读取）时按扩展名判断
+        if (path != null) {
+            String fileName = path.getFileName() == null ? "" : path.getFileName().toString().toLowerCase();
+            if (fileName.endsWith(".xls")) {
+                return ExcelTypeEnum.XLS;
+            }
+            if (fileName.endsWith(".xlsx")) {
+                return ExcelTypeEnum.XLSX;
+            }
+        }
+        throw new IllegalArgumentException("文件类型不支持，仅支持 .xls 和 .xlsx 文件: " + name);
+    }
+
+    private int readFileHeader(byte[] header) {
+        try (InputStream in = Files.newInputStream(path)) {
+            return in.readNBytes(header, 0, header.length);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static boolean startsWith(byte[] header, int headerLength, byte[] signature) {
+        if (headerLength < signature.length) {
+            return false;
+        }
+        for (int i = 0; i < signature.length; i++) {
+            if (header[i] != signature[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
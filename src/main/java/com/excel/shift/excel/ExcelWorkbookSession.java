@@ -0,0 +1,98 @@
+package com.excel.shift.excel;
+
+import com.alibaba.excel.EasyExcel;
+import com.alibaba.excel.ExcelReader;
+import com.alibaba.excel.read.listener.ReadListener;
+import com.alibaba.excel.read.metadata.ReadSheet;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Excel工作簿会话
+ * 一次提取过程中只打开一次文件，sheet列表和EasyExcel的ExcelReader在会话期间保持存活，
+ * 所有sheet都通过同一个句柄读取，会话结束时调用close()释放文件
+ * <p>
+ * EasyExcel的ExcelReader不能重复读取同一个sheet，再次读取已读过的sheet时重新打开读取器（sheet列表不变），
+ * 其他情况下一直复用同一个读取器
+ */
+@Slf4j
+public class ExcelWorkbookSession implements AutoCloseable {
+
+    private final ExcelSource source;
+    private ExcelReader excelReader;
+    // 当前读取器已经读过的sheet索引
+    private final BitSet readSheets = new BitSet();
+    // 工作簿中的所有sheet，打开时读取一次
+    private final List<ReadSheet> sheets;
+    private boolean closed = false;
+
+    public ExcelWorkbookSession(String excelPath) {
+        this(ExcelSource.of(excelPath));
+    }
+
+    public ExcelWorkbookSession(ExcelSource source) {
+        this.source = source;
+        this.excelReader = source.openReader();
+        this.sheets = Collections.unmodifiableList(excelReader.excelExecutor().sheetList());
+        log.debug("打开工作簿: {}, 共{}个sheet", source, sheets.size());
+    }
+
+    /**
+     * 获取工作簿中所有Sheet名称列表
+     */
+    public List<String> getSheetNames() {
+        return sheets.stream()
+                .map(ReadSheet::getSheetName)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 获取sheet数量
+     */
+    public int getSheetCount() {
+        return sheets.size();
+    }
+
+    /**
+     * 使用指定监听器读取一个sheet的数据（不跳过表头，所有行都交给监听器）
+     * 同一个sheet可以读取多次，已读过的sheet再次读取时重新打开读取器
+     *
+     * @param sheetIndex sheet索引
+     * @param listener   读取监听器
+     */
+    public void readSheet(int sheetIndex, ReadListener<?> listener) {
+        if (closed) {
+            throw new IllegalStateException("工作簿会话已关闭: " + source);
+        }
+        if (readSheets.get(sheetIndex)) {
+            log.debug("sheet[{}]已读取过，重新打开工作簿: {}", sheetIndex, source);
+            excelReader.finish();
+            excelReader = source.openReader();
+            readSheets.clear();
+        }
+        readSheets.set(sheetIndex);
+        ReadSheet readSheet = EasyExcel.readSheet(sheetIndex)
+                .headRowNumber(0)
+                .registerReadListener(listener)
+                .build();
+        excelReader.read(readSheet);
+    }
+
+    public ExcelSource getSource() {
+        return source;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        excelReader.finish();
+        log.debug("关闭工作簿: {}", source);
+    }
+}
@@ -0,0 +1,164 @@
+package com.excel.shift.excel;
+
+import com.excel.shift.config.ExcelMappingConfig;
+import com.excel.shift.result.ExtractionResult;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 可复用、线程安全的提取引擎
+ * <p>
+ * 配置只在创建时解析并编译为{@link ExtractionPlan}一次，之后不再修改；每次调用extract()都创建一个短生命周期的提取上下文（{@link ExcelExtractor}），
+ * 克隆的配置、动态表达式解析状态、sheet数据和结果都只属于这一次调用，因此同一个引擎可以被任意多个线程同时使用。
+ * <pre>
+ * // 应用启动时创建一次
+ * ExtractionEngine engine = new ExtractionEngine(configPath, classList);
+ * // 每个请求中
+ * ExtractionResult result = engine.extract(ExcelSource.of(uploadBytes), SheetSelector.all());
+ * </pre>
+ */
+@Slf4j
+public final class ExtractionEngine {
+
+    private final ExtractionPlan extractionPlan;
+    private final boolean streamingMode;
+    private final long sheetMemoryBudget;
+    private final int parallelism;
+    private final boolean rawNumericCells;
+
+    /**
+     * @param configPath 配置文件路径，只在这里解析一次
+     * @param classList  需要提取的类列表
+     */
+    public ExtractionEngine(String configPath, List<Class<?>> classList) {
+        this(new ExcelMappingConfig(configPath), classList);
+    }
+
+    /**
+     * @param mappingConfig 配置对象，引擎保存一份副本，之后修改传入的对象不影响引擎
+     * @param classList     需要提取的类列表
+     */
+    public ExtractionEngine(ExcelMappingConfig mappingConfig, List<Class<?>> classList) {
+        this(ExtractionPlan.compile(mappingConfig, classList));
+    }
+
+    /**
+     * @param extractionPlan 已编译的提取计划
+     */
+    public ExtractionEngine(ExtractionPlan extractionPlan) {
+        this(Objects.requireNonNull(extractionPlan, "提取计划不能为空"), false, 0, 1, false);
+    }
+
+    private ExtractionEngine(ExtractionPlan extractionPlan, boolean streamingMode, long sheetMemoryBudget, int parallelism,
+                             boolean rawNumericCells) {
+        this.extractionPlan = extractionPlan;
+        this.streamingMode = streamingMode;
+        this.sheetMemoryBudget = sheetMemoryBudget;
+        this.parallelism = parallelism;
+        this.rawNumericCells = rawNumericCells;
+    }
+
+    /**
+     * 返回开启/关闭流式LIST提取的新引擎
+     */
+    public ExtractionEngine withStreamingMode(boolean streamingMode) {
+        return new ExtractionEngine(extractionPlan, streamingMode, sheetMemoryBudget, parallelism, rawNumericCells);
+    }
+
+    /**
+     * 返回设置了单个sheet堆内存预算（字节）的新引擎，小于等于0表示不限制
+     */
+    public ExtractionEngine withSheetMemoryBudget(long sheetMemoryBudget) {
+        return new ExtractionEngine(extractionPlan, streamingMode, sheetMemoryBudget, parallelism, rawNumericCells);
+    }
+
+    /**
+     * 返回设置了提取全部sheet时并发线程数的新引擎，小于等于1表示串行
+     */
+    public ExtractionEngine withParallelism(int parallelism) {
+        return new ExtractionEngine(extractionPlan, streamingMode, sheetMemoryBudget, parallelism, rawNumericCells);
+    }
+
+    /**
+     * 返回开启/关闭按原始值读取数值单元格的新引擎，开启后数值字段直接使用单元格中的数值，不受显示格式影响
+     */
+    public ExtractionEngine withRawNumericCells(boolean rawNumericCells) {
+        return new ExtractionEngine(extractionPlan, streamingMode, sheetMemoryBudget, parallelism, rawNumericCells);
+    }
+
+    /**
+     * 提取所有sheet
+     */
+    public ExtractionResult extract(ExcelSource source) {
+        return extract(source, SheetSelector.all());
+    }
+
+    /**
+     * 提取选中的sheet
+     *
+     * @param source   Excel数据来源
+     * @param selector 需要提取的sheet
+     * @return 提取结果，只包含选中的sheet
+     */
+    public ExtractionResult extract(ExcelSource source, SheetSelector selector) {
+        Objects.requireNonNull(source, "Excel数据来源不能为空");
+        Objects.requireNonNull(selector, "sheet选择不能为空");
+        try {
+            return extractOrThrow(source, selector);
+        } catch (Exception e) {
+            log.error("提取Excel[{}]失败: {}", source.getName(), e.getMessage(), e);
+            return new ExtractionResult(0);
+        }
+    }
+
+    /**
+     * 提取选中的sheet，失败时抛出原始异常，供批量提取记录每个文件的失败原因
+     */
+    ExtractionResult extractOrThrow(ExcelSource source, SheetSelector selector) {
+        try (ExcelExtractor context = newContext(source)) {
+            // 先打开工作簿，无法读取的文件在这里抛出原始异常，而不是由提取方法记录日志后返回空结果
+            context.openSession();
+            if (selector.isAll() && parallelism > 1) {
+                return context.extractAllSheet(parallelism);
+            }
+            return context.extractSheets(selector);
+        }
+    }
+
+    public ExtractionPlan getExtractionPlan() {
+        return extractionPlan;
+    }
+
+    public List<Class<?>> getClassList() {
+        return extractionPlan.getClassList();
+    }
+
+    public boolean isStreamingMode() {
+        return streamingMode;
+    }
+
+    public long getSheetMemoryBudget() {
+        return sheetMemoryBudget;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public boolean isRawNumericCells() {
+        return rawNumericCells;
+    }
+
+    /**
+     * 创建一次提取使用的上下文，配置在上下文中再克隆一份，引擎持有的配置不会被修改
+     */
+    private ExcelExtractor newContext(ExcelSource source) {
+        ExcelExtractor context = new ExcelExtractor(source, extractionPlan);
+        context.setStreamingMode(streamingMode);
+        context.setSheetMemoryBudget(sheetMemoryBudget);
+        context.setRawNumericCells(rawNumericCells);
+        return context;
+    }
+}
@@ -0,0 +1,461 @@
+package com.excel.shift.excel;
+
+import com.excel.shift.config.ColumnConfig;
+import com.excel.shift.config.ExcelMappingConfig;
+import com.excel.shift.config.ExtractorConfig;
+import com.excel.shift.config.FieldConfig;
+import com.excel.shift.convert.TypeConverter;
+import com.excel.shift.convert.TypeConverters;
+import com.excel.shift.excel.BeanBinder.FieldSetter;
+import com.excel.shift.util.ExcelCoordConverter;
+import com.excel.shift.util.ExtractPattern;
+import org.dromara.hutool.core.util.BooleanUtil;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * 编译后的提取计划
+ * <p>
+ * 由配置和目标类列表一次性编译得到：列索引、Java字段、类型转换器、正则表达式、构造函数都在这里解析好，
+ * 提取时按目标类O(1)找到对应的提取器，不再逐行逐列调用getDeclaredField、columnNameToIndex和类型字符串判断。
+ * 对象创建和字段赋值使用{@link BeanBinder}生成的构造函数和setter，不经过反射。
+ * 配置中会随sheet内容变化的部分（提取器的startRow/endRow、动态字段的excelCell）不在计划中，提取时仍从当前sheet解析后的配置读取。
+ * <p>
+ * 计划不可变，可以缓存起来在多个文件、多个线程之间复用。编译时的错误（字段不存在、列名无效等）
+ * 不会让编译失败，而是保存下来，在提取用到时抛出，和逐个单元格解析时的错误记录方式一致；
+ * 只有无效的正则表达式在编译时直接抛出IllegalArgumentException，避免每个单元格重复报告同一个配置错误。
+ */
+public final class ExtractionPlan {
+
+    // 编译时使用的配置副本，只读
+    private final ExcelMappingConfig mappingConfig;
+    private final List<Class<?>> classList;
+    private final Map<Class<?>, ExtractorPlan> extractorPlans;
+
+    private ExtractionPlan(ExcelMappingConfig mappingConfig, List<Class<?>> classList,
+                           Map<Class<?>, ExtractorPlan> extractorPlans) {
+        this.mappingConfig = mappingConfig;
+        this.classList = classList;
+        this.extractorPlans = extractorPlans;
+    }
+
+    /**
+     * 编译提取计划
+     *
+     * @param mappingConfig 配置对象，计划保存一份副本，之后修改传入的对象不影响计划
+     * @param classList     需要提取的类列表
+     * @return 提取计划
+     */
+    public static ExtractionPlan compile(ExcelMappingConfig mappingConfig, List<Class<?>> classList) {
+        Objects.requireNonNull(mappingConfig, "配置不能为空");
+        Objects.requireNonNull(classList, "提取类列表不能为空");
+        ExcelMappingConfig config = mappingConfig.deepClone();
+        Map<Class<?>, ExtractorPlan> extractorPlans = new HashMap<>();
+        for (Class<?> clazz : classList) {
+            ExtractorConfig extractor = findExtractor(config, clazz.getName());
+            if (extractor != null) {
+                extractorPlans.put(clazz, new ExtractorPlan(extractor, clazz));
+            }
+        }
+        return new ExtractionPlan(config, List.copyOf(classList), extractorPlans);
+    }
+
+    public List<Class<?>> getClassList() {
+        return classList;
+    }
+
+    /**
+     * 编译时使用的配置副本，只能读取
+     */
+    ExcelMappingConfig getMappingConfig() {
+        return mappingConfig;
+    }
+
+    /**
+     * 目标类对应的提取器计划，没有配置时返回null
+     */
+    ExtractorPlan forClass(Class<?> clazz) {
+        return extractorPlans.get(clazz);
+    }
+
+    /**
+     * 与原来的按类名查找规则一致：按提取器顺序取第一个targetClass相同的提取器
+     */
+    private static ExtractorConfig findExtractor(ExcelMappingConfig config, String className) {
+        if (config.getAllExtractors() == null) {
+            return null;
+        }
+        for (ExtractorConfig extractor : config.getAllExtractors()) {
+            if (className.equals(extractor.getTargetClass())) {
+                return extractor;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 单个提取器（一个目标类）的计划
+     */
+    static final class ExtractorPlan {
+        private final String extractorId;
+        private final Class<?> targetClass;
+        private final ExtractorConfig.ResultType resultType;
+        private final BeanBinder binder;
+        private final int startColumn;
+        private final IllegalArgumentException startColumnError;
+        // 表格列，没有表格配置时为null
+        private final List<ColumnPlan> columns;
+        // 基本字段，没有字段配置时为空
+        private final List<FieldPlan> fields;
+        // LIST表格行的映射器，没有表格配置时为null
+        private final RowMapper<Object> rowMapper;
+
+        ExtractorPlan(ExtractorConfig extractor, Class<?> targetClass) {
+            this.extractorId = extractor.getId();
+            this.targetClass = targetClass;
+            this.resultType = extractor.getResultType();
+
+            this.binder = BeanBinder.of(targetClass);
+
+            int resolvedStartColumn = 0;
+            IllegalArgumentException resolvedStartColumnError = null;
+            if (extractor.getStartColumn() != null) {
+                try {
+                    resolvedStartColumn = ExcelCoordConverter.columnNameToIndex(extractor.getStartColumn());
+                } catch (IllegalArgumentException e) {
+                    resolvedStartColumnError = e;
+                }
+            }
+            this.startColumn = resolvedStartColumn;
+            this.startColumnError = resolvedStartColumnError;
+
+            if (extractor.getTable() != null && extractor.getTable().getColumns() != null) {
+                List<ColumnPlan> columnPlans = new ArrayList<>();
+                for (ColumnConfig column : extractor.getTable().getColumns().values()) {
+                    try {
+                        columnPlans.add(new ColumnPlan(column, targetClass));
+                    } catch (PatternSyntaxException e) {
+                        throw invalidPattern(column.getJavaFieldName(), e);
+                    }
+                }
+                this.columns = Collections.unmodifiableList(columnPlans);
+                this.rowMapper = RowMappers.forColumns(targetClass, extractor.getTable().getColumns().values());
+            } else {
+                this.columns = extractor.getTable() != null ? Collections.emptyList() : null;
+                this.rowMapper = extractor.getTable() != null ? RowMappers.forColumns(targetClass, Collections.emptyList()) : null;
+            }
+
+            List<FieldPlan> fieldPlans = new ArrayList<>();
+            if (extractor.getFields() != null) {
+                for (Map.Entry<String, FieldConfig> entry : extractor.getFields().entrySet()) {
+                    try {
+                        fieldPlans.add(new FieldPlan(entry.getKey(), entry.getValue(), targetClass));
+                    } catch (PatternSyntaxException e) {
+                        throw invalidPattern(entry.getKey(), e);
+                    }
+                }
+            }
+            this.fields = Collections.unmodifiableList(fieldPlans);
+        }
+
+        private IllegalArgumentException invalidPattern(String fieldName, PatternSyntaxException e) {
+            return new IllegalArgumentException("提取器[" + extractorId + "]字段[" + fieldName + "]的正则表达式无效: "
+                    + e.getMessage(), e);
+        }
+
+        String getExtractorId() {
+            return extractorId;
+        }
+
+        Class<?> getTargetClass() {
+            return targetClass;
+        }
+
+        ExtractorConfig.ResultType getResultType() {
+            return resultType;
+        }
+
+        /**
+         * 创建目标对象，通过构造函数绑定的类型（record等）返回参数缓冲区，赋值完成后调用{@link #build}
+         */
+        Object newInstance() throws Exception {
+            return binder.newInstance();
+        }
+
+        /**
+         * 赋值完成后得到目标对象
+         */
+        Object build(Object instance) throws Exception {
+            return binder.build(instance);
+        }
+
+        /**
+         * startColumn对应的列索引，未配置时为0
+         */
+        int getStartColumn() {
+            if (startColumnError != null) {
+                throw startColumnError;
+            }
+            return startColumn;
+        }
+
+        boolean hasTable() {
+            return columns != null;
+        }
+
+        List<ColumnPlan> getColumns() {
+            return columns == null ? Collections.emptyList() : columns;
+        }
+
+        List<FieldPlan> getFields() {
+            return fields;
+        }
+
+        /**
+         * LIST表格行的映射器，与{@link #getColumns()}的顺序对应
+         */
+        RowMapper<Object> getRowMapper() {
+            return rowMapper;
+        }
+    }
+
+    /**
+     * 表格列的计划
+     */
+    static final class ColumnPlan extends MemberPlan {
+        private final ColumnConfig column;
+        private final int columnIndex;
+        private final IllegalArgumentException columnIndexError;
+        private final boolean mergeType;
+        private final int groupRowIndex;
+        // VERTICAL_LIST中字段所在的行
+        private final int rowIndex;
+        private final RuntimeException rowIndexError;
+
+        ColumnPlan(ColumnConfig column, Class<?> targetClass) {
+            super(column.getJavaFieldName(), column.getJavaFieldType(), column.getExtractPattern(), targetClass);
+            this.column = column;
+
+            int resolvedColumnIndex = -1;
+            IllegalArgumentException resolvedColumnIndexError = null;
+            try {
+                resolvedColumnIndex = ExcelCoordConverter.columnNameToIndex(column.getColumnCell());
+            } catch (IllegalArgumentException e) {
+                resolvedColumnIndexError = e;
+            }
+            this.columnIndex = resolvedColumnIndex;
+            this.columnIndexError = resolvedColumnIndexError;
+            this.mergeType = BooleanUtil.isTrue(column.getIsMergeType());
+            this.groupRowIndex = column.getGroupRowIndex() != null ? column.getGroupRowIndex() : 1;
+
+            int resolvedRowIndex = -1;
+            RuntimeException resolvedRowIndexError = null;
+            if (column.getRowCell() != null) {
+                try {
+                    // Excel行从1开始，程序中行索引从0开始
+                    resolvedRowIndex = Integer.parseInt(column.getRowCell()) - 1;
+                } catch (RuntimeException e) {
+                    resolvedRowIndexError = e;
+                }
+            }
+            this.rowIndex = resolvedRowIndex;
+            this.rowIndexError = resolvedRowIndexError;
+        }
+
+        ColumnConfig getColumn() {
+            return column;
+        }
+
+        /**
+         * columnCell对应的列索引
+         */
+        int getColumnIndex() {
+            if (columnIndexError != null) {
+                throw columnIndexError;
+            }
+            return columnIndex;
+        }
+
+        /**
+         * 列名是否有效
+         */
+        boolean hasColumnIndex() {
+            return columnIndexError == null;
+        }
+
+        boolean isMergeType() {
+            return mergeType;
+        }
+
+        /**
+         * GROUP_LIST中从组内第几行取值（从1开始），未配置时为1
+         */
+        int getGroupRowIndex() {
+            return groupRowIndex;
+        }
+
+        boolean hasRowCell() {
+            return column.getRowCell() != null;
+        }
+
+        /**
+         * rowCell对应的行索引（0-based）
+         */
+        int getRowIndex() {
+            if (rowIndexError != null) {
+                throw rowIndexError;
+            }
+            return rowIndex;
+        }
+    }
+
+    /**
+     * 基本字段（SINGLE）的计划
+     */
+    static final class FieldPlan extends MemberPlan {
+        private final String key;
+        private final FieldConfig fieldConfig;
+        private final boolean dynamic;
+        // 静态单元格位置，动态字段或坐标无效时为null
+        private final ExcelCoordConverter.CellPosition cellPosition;
+        private final RuntimeException cellPositionError;
+
+        FieldPlan(String key, FieldConfig fieldConfig, Class<?> targetClass) {
+            super(fieldConfig.getJavaFieldName(), fieldConfig.getJavaFieldType(), fieldConfig.getExtractPattern(), targetClass);
+            this.key = key;
+            this.fieldConfig = fieldConfig;
+            this.dynamic = BooleanUtil.isTrue(fieldConfig.getIsDynamic());
+
+            ExcelCoordConverter.CellPosition resolvedPosition = null;
+            RuntimeException resolvedPositionError = null;
+            if (!dynamic) {
+                try {
+                    resolvedPosition = ExcelCoordConverter.excelCoordToPosition(fieldConfig.getExcelCell());
+                } catch (RuntimeException e) {
+                    resolvedPositionError = e;
+                }
+            }
+            this.cellPosition = resolvedPosition;
+            this.cellPositionError = resolvedPositionError;
+        }
+
+        String getKey() {
+            return key;
+        }
+
+        String getDefaultValue() {
+            return fieldConfig.getDefaultValue();
+        }
+
+        /**
+         * 字段的单元格位置
+         * 动态字段的excelCell在读取sheet时才能确定，需要传入当前sheet解析后的字段配置
+         *
+         * @param resolvedField 当前sheet解析后的字段配置
+         */
+        ExcelCoordConverter.CellPosition getCellPosition(FieldConfig resolvedField) {
+            if (dynamic) {
+                return ExcelCoordConverter.excelCoordToPosition(resolvedField.getExcelCell());
+            }
+            if (cellPositionError != null) {
+                throw cellPositionError;
+            }
+            return cellPosition;
+        }
+
+        boolean isDynamic() {
+            return dynamic;
+        }
+    }
+
+    /**
+     * 列和字段共用的部分：Java字段、值类型、正则表达式
+     */
+    abstract static class MemberPlan {
+        private final String javaFieldName;
+        private final String javaFieldType;
+        private final TypeConverter<?> converter;
+        private final FieldSetter setter;
+        private final NoSuchFieldException fieldError;
+        private final RuntimeException accessError;
+        private final String extractPattern;
+        private final ExtractPattern pattern;
+
+        MemberPlan(String javaFieldName, String javaFieldType, String extractPattern, Class<?> targetClass) {
+            this.javaFieldName = javaFieldName;
+            this.javaFieldType = javaFieldType;
+            TypeConverter<?> resolvedConverter = TypeConverters.resolve(javaFieldType, targetClass.getClassLoader());
+            this.converter = resolvedConverter == null ? null : resolvedConverter.forColumn();
+            this.extractPattern = extractPattern;
+
+            FieldSetter resolvedSetter = null;
+            NoSuchFieldException resolvedFieldError = null;
+            RuntimeException resolvedAccessError = null;
+            try {
+                Field field = targetClass.getDeclaredField(javaFieldName);
+                field.setAccessible(true);
+                resolvedSetter = BeanBinder.of(targetClass).setter(field);
+            } catch (NoSuchFieldException e) {
+                resolvedFieldError = e;
+            } catch (RuntimeException e) {
+                // 字段名为null或字段无法访问
+                resolvedAccessError = e;
+            }
+            this.setter = resolvedSetter;
+            this.fieldError = resolvedFieldError;
+            this.accessError = resolvedAccessError;
+
+            // 正则表达式无效时直接抛出，在加载配置时报告
+            this.pattern = extractPattern == null ? null : ExtractPattern.compile(extractPattern);
+        }
+
+        String getJavaFieldName() {
+            return javaFieldName;
+        }
+
+        String getJavaFieldType() {
+            return javaFieldType;
+        }
+
+        /**
+         * 值类型的转换器，javaFieldType为null时为null
+         */
+        TypeConverter<?> getConverter() {
+            return converter;
+        }
+
+        /**
+         * Java字段的赋值器
+         */
+        FieldSetter getSetter() throws NoSuchFieldException {
+            if (fieldError != null) {
+                throw fieldError;
+            }
+            if (accessError != null) {
+                throw accessError;
+            }
+            return setter;
+        }
+
+        /**
+         * 配置的正则表达式原文，未配置时为null或空字符串
+         */
+        String getExtractPattern() {
+            return extractPattern;
+        }
+
+        /**
+         * 编译好的正则表达式，未配置时为null
+         */
+        ExtractPattern getPattern() {
+            return pattern;
+        }
+    }
+}
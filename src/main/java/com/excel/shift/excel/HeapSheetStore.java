@@ -0,0 +1,228 @@
+package com.excel.shift.excel;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 堆内存储
+ * 行按行号直接索引到数组；所有行的区间以CSR方式存放在同一个int数组中，区间内没有值的位置为-1；
+ * 单元格的值做字典编码，相同字符串只保存一份，单元格本身只占一个int。
+ * 日期单元格和按原始值保存的数值单元格编号为负数（-2、-3……），对应数值表中的一项，
+ * 数值表保存序列号或原始值、文本的字典编号（只保存原始值的数值单元格没有文本）以及是否是日期。
+ */
+class HeapSheetStore implements SheetStore {
+
+    private static final int NO_VALUE = -1;
+    // 数值表中各项的编号：FIRST_NUMBER - 数值表下标
+    private static final int FIRST_NUMBER = -2;
+
+    // 估算值：每个不同字符串的对象头、数组头和字典表项
+    private static final int STRING_OVERHEAD_BYTES = 96;
+    // 估算值：每行四个int
+    private static final int ROW_BYTES = 16;
+
+    // 行号 -> 该行区间在cells中的起始位置，-1表示该行不存在
+    private int[] rowOffset = new int[0];
+    // 行号 -> 该行区间的第一列
+    private int[] rowFirstColumn = new int[0];
+    // 行号 -> 该行区间的长度
+    private int[] rowSpan = new int[0];
+    // 行号 -> 该行最右侧非空单元格的列，-1表示该行没有数据
+    private int[] rowLastDataColumn = new int[0];
+
+    // 所有行的单元格，存放字典编号
+    private int[] cells = new int[64];
+    private int cellSize = 0;
+
+    // 字符串 -> 字典编号，只在写入期间使用，compact()后释放
+    private Map<String, Integer> dictionary = new HashMap<>();
+    private String[] values = new String[64];
+    private int valueCount = 0;
+
+    // 数值表：日期序列号或原始值、文本的字典编号（没有文本时为NO_VALUE）、是否是日期
+    private double[] numbers = new double[0];
+    private int[] numberValues = new int[0];
+    private final BitSet dateNumbers = new BitSet();
+    private int numberCount = 0;
+
+    private int maxRow = -1;
+    private long valueBytes = 0;
+
+    @Override
+    public void addRow(int rowIndex, int firstColumn, String[] rowCells, double[] serials, double[] rowNumbers,
+                       int lastDataColumn) {
+        ensureRowCapacity(rowIndex + 1);
+        ensureCellCapacity(cellSize + rowCells.length);
+        for (int i = 0; i < rowCells.length; i++) {
+            int valueId = rowCells[i] == null ? NO_VALUE : encode(rowCells[i]);
+            if (serials != null && !Double.isNaN(serials[i])) {
+                valueId = addNumber(serials[i], valueId, true);
+            } else if (rowNumbers != null && !Double.isNaN(rowNumbers[i])) {
+                valueId = addNumber(rowNumbers[i], valueId, false);
+            }
+            cells[cellSize + i] = valueId;
+        }
+        rowOffset[rowIndex] = cellSize;
+        rowFirstColumn[rowIndex] = firstColumn;
+        rowSpan[rowIndex] = rowCells.length;
+        rowLastDataColumn[rowIndex] = lastDataColumn;
+        cellSize += rowCells.length;
+        maxRow = Math.max(maxRow, rowIndex);
+    }
+
+    @Override
+    public boolean hasRow(int row) {
+        return row >= 0 && row < rowOffset.length && rowOffset[row] != NO_VALUE;
+    }
+
+    @Override
+    public int rowFirstColumn(int row) {
+        return hasRow(row) ? rowFirstColumn[row] : 0;
+    }
+
+    @Override
+    public int rowSpan(int row) {
+        return hasRow(row) ? rowSpan[row] : 0;
+    }
+
+    @Override
+    public int lastDataColumn(int row) {
+        return hasRow(row) ? rowLastDataColumn[row] : -1;
+    }
+
+    @Override
+    public String getCellValue(int row, int col) {
+        int valueId = cellId(row, col);
+        if (valueId <= FIRST_NUMBER) {
+            valueId = numberValues[FIRST_NUMBER - valueId];
+        }
+        return valueId == NO_VALUE ? null : values[valueId];
+    }
+
+    @Override
+    public double getDateSerial(int row, int col) {
+        int valueId = cellId(row, col);
+        return valueId <= FIRST_NUMBER && dateNumbers.get(FIRST_NUMBER - valueId)
+                ? numbers[FIRST_NUMBER - valueId] : Double.NaN;
+    }
+
+    @Override
+    public double getNumber(int row, int col) {
+        int valueId = cellId(row, col);
+        return valueId <= FIRST_NUMBER && !dateNumbers.get(FIRST_NUMBER - valueId)
+                ? numbers[FIRST_NUMBER - valueId] : Double.NaN;
+    }
+
+    /**
+     * 单元格的编号，行或单元格不存在时返回NO_VALUE
+     */
+    private int cellId(int row, int col) {
+        if (!hasRow(row)) {
+            return NO_VALUE;
+        }
+        int index = col - rowFirstColumn[row];
+        if (index < 0 || index >= rowSpan[row]) {
+            return NO_VALUE;
+        }
+        return cells[rowOffset[row] + index];
+    }
+
+    @Override
+    public long estimatedHeapBytes() {
+        return (long) cellSize * 4 + (long) (maxRow + 1) * ROW_BYTES + valueBytes + (long) numberCount * 12;
+    }
+
+    /**
+     * 单元格槽位数（包含行区间内的空位）
+     */
+    int cellSlotCount() {
+        return cellSize;
+    }
+
+    /**
+     * 字典中不同字符串的数量
+     */
+    int distinctValueCount() {
+        return valueCount;
+    }
+
+    @Override
+    public void compact() {
+        dictionary = null;
+        cells = Arrays.copyOf(cells, cellSize);
+        values = Arrays.copyOf(values, valueCount);
+        numbers = Arrays.copyOf(numbers, numberCount);
+        numberValues = Arrays.copyOf(numberValues, numberCount);
+        int rowSize = maxRow + 1;
+        if (rowSize < rowOffset.length) {
+            rowOffset = Arrays.copyOf(rowOffset, rowSize);
+            rowFirstColumn = Arrays.copyOf(rowFirstColumn, rowSize);
+            rowSpan = Arrays.copyOf(rowSpan, rowSize);
+            rowLastDataColumn = Arrays.copyOf(rowLastDataColumn, rowSize);
+        }
+    }
+
+    @Override
+    public void close() {
+        dictionary = null;
+        cells = new int[0];
+        values = new String[0];
+        numbers = new double[0];
+        numberValues = new int[0];
+        dateNumbers.clear();
+        rowOffset = new int[0];
+        cellSize = 0;
+        valueCount = 0;
+        numberCount = 0;
+    }
+
+    private int addNumber(double number, int valueId, boolean date) {
+        if (numberCount == numbers.length) {
+            int newSize = Math.max(numberCount * 2, 16);
+            numbers = Arrays.copyOf(numbers, newSize);
+            numberValues = Arrays.copyOf(numberValues, newSize);
+        }
+        numbers[numberCount] = number;
+        numberValues[numberCount] = valueId;
+        dateNumbers.set(numberCount, date);
+        return FIRST_NUMBER - numberCount++;
+    }
+
+    private int encode(String value) {
+        if (dictionary == null) {
+            dictionary = new HashMap<>();
+        }
+        Integer valueId = dictionary.get(value);
+        if (valueId == null) {
+            if (valueCount == values.length) {
+                values = Arrays.copyOf(values, Math.max(valueCount * 2, 16));
+            }
+            valueId = valueCount;
+            values[valueCount++] = value;
+            dictionary.put(value, valueId);
+            valueBytes += STRING_OVERHEAD_BYTES + 2L * value.length();
+        }
+        return valueId;
+    }
+
+    private void ensureRowCapacity(int size) {
+        if (size <= rowOffset.length) {
+            return;
+        }
+        int newSize = Math.max(size, rowOffset.length * 2);
+        int oldSize = rowOffset.length;
+        rowOffset = Arrays.copyOf(rowOffset, newSize);
+        Arrays.fill(rowOffset, oldSize, newSize, NO_VALUE);
+        rowFirstColumn = Arrays.copyOf(rowFirstColumn, newSize);
+        rowSpan = Arrays.copyOf(rowSpan, newSize);
+        rowLastDataColumn = Arrays.copyOf(rowLastDataColumn, newSize);
+    }
+
+    private void ensureCellCapacity(int size) {
+        if (size > cells.length) {
+            cells = Arrays.copyOf(cells, Math.max(size, cells.length * 2));
+        }
+    }
+}
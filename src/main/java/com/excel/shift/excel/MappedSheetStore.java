@@ -0,0 +1,287 @@
+package com.excel.shift.excel;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 内存映射临时文件存储，sheet数据超过堆内存预算后使用
+ * <p>
+ * 使用两个临时文件：
+ * 行索引文件按行号定长存放（每行32字节：区间位置、第一列、区间长度、最后数据列、数值位置），直接按 行号*32 定位；
+ * 数据文件只追加写入，先写入该行各单元格的字符串（int长度 + UTF-8字节），再写入区间内每个单元格对应字符串位置的long数组；
+ * 该行有日期单元格或按原始值保存的数值单元格时，再写入区间内每个单元格的数值（double）和类型（byte：没有、日期、数值）。
+ * 两个文件都按固定大小分段映射，close()时删除。
+ */
+@Slf4j
+class MappedSheetStore implements SheetStore {
+
+    private static final int SEGMENT_SHIFT = 24;
+    private static final int SEGMENT_SIZE = 1 << SEGMENT_SHIFT;
+    private static final int INDEX_WIDTH = 32;
+    // 数值的类型
+    private static final byte NO_NUMBER = 0;
+    private static final byte DATE_SERIAL = 1;
+    private static final byte RAW_NUMBER = 2;
+
+    private final MappedFile index;
+    private final MappedFile heap;
+    private long heapPosition = 0;
+    private int maxRow = -1;
+
+    MappedSheetStore() throws IOException {
+        this.index = new MappedFile("excelshift-index-");
+        try {
+            this.heap = new MappedFile("excelshift-heap-");
+        } catch (IOException e) {
+            index.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public void addRow(int rowIndex, int firstColumn, String[] cells, double[] dateSerials, double[] numbers,
+                       int lastDataColumn) {
+        // 位置都加1保存，0表示不存在
+        long[] valuePositions = new long[cells.length];
+        for (int i = 0; i < cells.length; i++) {
+            if (cells[i] != null) {
+                byte[] bytes = cells[i].getBytes(StandardCharsets.UTF_8);
+                long position = reserve(4 + bytes.length);
+                heap.putInt(position, bytes.length);
+                heap.putBytes(position + 4, bytes);
+                valuePositions[i] = position + 1;
+            }
+        }
+        long slotPosition = reserve(8L * cells.length);
+        for (int i = 0; i < cells.length; i++) {
+            heap.putLong(slotPosition + 8L * i, valuePositions[i]);
+        }
+        long numberPosition = 0;
+        if (dateSerials != null || numbers != null) {
+            numberPosition = reserve(9L * cells.length) + 1;
+            long kindPosition = numberPosition - 1 + 8L * cells.length;
+            for (int i = 0; i < cells.length; i++) {
+                byte kind = NO_NUMBER;
+                double number = Double.NaN;
+                if (dateSerials != null && !Double.isNaN(dateSerials[i])) {
+                    kind = DATE_SERIAL;
+                    number = dateSerials[i];
+                } else if (numbers != null && !Double.isNaN(numbers[i])) {
+                    kind = RAW_NUMBER;
+                    number = numbers[i];
+                }
+                heap.putDouble(numberPosition - 1 + 8L * i, number);
+                heap.putByte(kindPosition + i, kind);
+            }
+        }
+        long indexPosition = (long) rowIndex * INDEX_WIDTH;
+        index.putLong(indexPosition, slotPosition + 1);
+        index.putInt(indexPosition + 8, firstColumn);
+        index.putInt(indexPosition + 12, cells.length);
+        index.putInt(indexPosition + 16, lastDataColumn);
+        index.putLong(indexPosition + 24, numberPosition);
+        maxRow = Math.max(maxRow, rowIndex);
+    }
+
+    @Override
+    public boolean hasRow(int row) {
+        return row >= 0 && row <= maxRow && index.getLong((long) row * INDEX_WIDTH) != 0;
+    }
+
+    @Override
+    public int rowFirstColumn(int row) {
+        return hasRow(row) ? index.getInt((long) row * INDEX_WIDTH + 8) : 0;
+    }
+
+    @Override
+    public int rowSpan(int row) {
+        return hasRow(row) ? index.getInt((long) row * INDEX_WIDTH + 12) : 0;
+    }
+
+    @Override
+    public int lastDataColumn(int row) {
+        return hasRow(row) ? index.getInt((long) row * INDEX_WIDTH + 16) : -1;
+    }
+
+    @Override
+    public String getCellValue(int row, int col) {
+        if (!hasRow(row)) {
+            return null;
+        }
+        long indexPosition = (long) row * INDEX_WIDTH;
+        int offset = col - index.getInt(indexPosition + 8);
+        if (offset < 0 || offset >= index.getInt(indexPosition + 12)) {
+            return null;
+        }
+        long slotPosition = index.getLong(indexPosition) - 1;
+        long valuePosition = heap.getLong(slotPosition + 8L * offset);
+        if (valuePosition == 0) {
+            return null;
+        }
+        int length = heap.getInt(valuePosition - 1);
+        return new String(heap.getBytes(valuePosition + 3, length), StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public double getDateSerial(int row, int col) {
+        return getNumber(row, col, DATE_SERIAL);
+    }
+
+    @Override
+    public double getNumber(int row, int col) {
+        return getNumber(row, col, RAW_NUMBER);
+    }
+
+    private double getNumber(int row, int col, byte kind) {
+        if (!hasRow(row)) {
+            return Double.NaN;
+        }
+        long indexPosition = (long) row * INDEX_WIDTH;
+        long numberPosition = index.getLong(indexPosition + 24);
+        int offset = col - index.getInt(indexPosition + 8);
+        int span = index.getInt(indexPosition + 12);
+        if (numberPosition == 0 || offset < 0 || offset >= span
+                || heap.getByte(numberPosition - 1 + 8L * span + offset) != kind) {
+            return Double.NaN;
+        }
+        return heap.getDouble(numberPosition - 1 + 8L * offset);
+    }
+
+    @Override
+    public long estimatedHeapBytes() {
+        // 数据都在映射文件中，不占用堆内存
+        return 0;
+    }
+
+    @Override
+    public void compact() {
+        // 只追加写入，没有需要释放的写入辅助结构
+    }
+
+    @Override
+    public void close() {
+        index.close();
+        heap.close();
+    }
+
+    /**
+     * 在数据文件中预留一段连续空间，不跨越映射分段
+     */
+    private long reserve(long size) {
+        if (size > SEGMENT_SIZE) {
+            throw new IllegalStateException("单行数据过大，无法写入临时文件: " + size + "字节");
+        }
+        long remaining = SEGMENT_SIZE - (heapPosition & (SEGMENT_SIZE - 1));
+        if (size > remaining) {
+            heapPosition += remaining;
+        }
+        long position = heapPosition;
+        heapPosition += size;
+        return position;
+    }
+
+    /**
+     * 按固定大小分段映射的临时文件
+     */
+    private static final class MappedFile {
+
+        private final Path path;
+        private final FileChannel channel;
+        private final List<MappedByteBuffer> segments = new ArrayList<>();
+
+        MappedFile(String prefix) throws IOException {
+            this.path = Files.createTempFile(prefix, ".tmp");
+            this.channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            log.debug("创建sheet数据临时文件: {}", path);
+        }
+
+        void putInt(long position, int value) {
+            segment(position).putInt(offset(position), value);
+        }
+
+        void putLong(long position, long value) {
+            segment(position).putLong(offset(position), value);
+        }
+
+        void putByte(long position, byte value) {
+            segment(position).put(offset(position), value);
+        }
+
+        void putDouble(long position, double value) {
+            segment(position).putDouble(offset(position), value);
+        }
+
+        void putBytes(long position, byte[] bytes) {
+            segment(position).put(offset(position), bytes);
+        }
+
+        int getInt(long position) {
+            return segment(position).getInt(offset(position));
+        }
+
+        long getLong(long position) {
+            return segment(position).getLong(offset(position));
+        }
+
+        byte getByte(long position) {
+            return segment(position).get(offset(position));
+        }
+
+        double getDouble(long position) {
+            return segment(position).getDouble(offset(position));
+        }
+
+        byte[] getBytes(long position, int length) {
+            byte[] bytes = new byte[length];
+            segment(position).get(offset(position), bytes);
+            return bytes;
+        }
+
+        private int offset(long position) {
+            return (int) (position & (SEGMENT_SIZE - 1));
+        }
+
+        private MappedByteBuffer segment(long position) {
+            int segmentIndex = (int) (position >>> SEGMENT_SHIFT);
+            while (segments.size() <= segmentIndex) {
+                segments.add(null);
+            }
+            MappedByteBuffer segment = segments.get(segmentIndex);
+            if (segment == null) {
+                try {
+                    segment = channel.map(FileChannel.MapMode.READ_WRITE, (long) segmentIndex << SEGMENT_SHIFT, SEGMENT_SIZE);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("映射临时文件失败: " + path, e);
+                }
+                segments.set(segmentIndex, segment);
+            }
+            return segment;
+        }
+
+        void close() {
+            segments.clear();
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.warn("关闭临时文件失败: {}", path, e);
+            }
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                // 部分平台上映射未被回收前无法删除，退出时再删除
+                log.warn("删除临时文件失败，将在JVM退出时删除: {}", path);
+                path.toFile().deleteOnExit();
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.excel.shift.excel;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * sheet中的合并区域，按列建立的区间索引
+ * <p>
+ * 合并区域来自工作簿的合并单元格信息（xlsx的mergeCells、xls的MERGEDCELLS记录），读完整个sheet后才能得到。
+ * 同一列中的合并区域互不重叠，每列的区域按首行排序，查找包含某个单元格的区域是一次二分查找。
+ * 合并区域只有左上角的单元格保存值，区域中其他单元格的值取左上角单元格的值。
+ */
+final class MergeRegions {
+
+    private final int[] firstRows;
+    private final int[] lastRows;
+    private final int[] firstColumns;
+    // 列索引 -> 覆盖该列的区域编号，按首行排序；没有区域的列为null
+    private final int[][] columnRegions;
+
+    /**
+     * @param regions 合并区域，每个元素为{首行, 末行, 首列, 末列}（0-based）
+     * @param columns 需要建立索引的列，为null时索引所有列
+     */
+    MergeRegions(List<int[]> regions, Set<Integer> columns) {
+        int count = regions.size();
+        firstRows = new int[count];
+        lastRows = new int[count];
+        firstColumns = new int[count];
+        int maxColumn = -1;
+        int[] columnCounts = new int[0];
+        for (int i = 0; i < count; i++) {
+            int[] region = regions.get(i);
+            firstRows[i] = region[0];
+            lastRows[i] = region[1];
+            firstColumns[i] = region[2];
+            for (int col = region[2]; col <= region[3]; col++) {
+                if (columns != null && !columns.contains(col)) {
+                    continue;
+                }
+                if (col > maxColumn) {
+                    maxColumn = col;
+                    columnCounts = Arrays.copyOf(columnCounts, col + 1);
+                }
+                columnCounts[col]++;
+            }
+        }
+        columnRegions = new int[maxColumn + 1][];
+        for (int col = 0; col <= maxColumn; col++) {
+            if (columnCounts[col] > 0) {
+                columnRegions[col] = new int[columnCounts[col]];
+                columnCounts[col] = 0;
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            int[] region = regions.get(i);
+            for (int col = region[2]; col <= Math.min(region[3], maxColumn); col++) {
+                if (columnRegions[col] != null && (columns == null || columns.contains(col))) {
+                    columnRegions[col][columnCounts[col]++] = i;
+                }
+            }
+        }
+        for (int[] ids : columnRegions) {
+            if (ids != null && ids.length > 1) {
+                sortByFirstRow(ids);
+            }
+        }
+    }
+
+    private void sortByFirstRow(int[] ids) {
+        long[] keys = new long[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            keys[i] = ((long) firstRows[ids[i]] << 32) | ids[i];
+        }
+        Arrays.sort(keys);
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = (int) keys[i];
+        }
+    }
+
+    /**
+     * 包含该单元格的合并区域编号，不在任何合并区域中时返回-1
+     */
+    int find(int row, int col) {
+        if (col < 0 || col >= columnRegions.length || columnRegions[col] == null) {
+            return -1;
+        }
+        int[] ids = columnRegions[col];
+        // 首行不大于row的最后一个区域
+        int low = 0;
+        int high = ids.length - 1;
+        int found = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (firstRows[ids[mid]] <= row) {
+                found = ids[mid];
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return found >= 0 && lastRows[found] >= row ? found : -1;
+    }
+
+    /**
+     * 区域的首行（左上角单元格的行）
+     */
+    int firstRow(int region) {
+        return firstRows[region];
+    }
+
+    /**
+     * 区域的首列（左上角单元格的列）
+     */
+    int firstColumn(int region) {
+        return firstColumns[region];
+    }
+
+    /**
+     * 区域数量
+     */
+    int size() {
+        return firstRows.length;
+    }
+}
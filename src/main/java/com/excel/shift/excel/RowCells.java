@@ -0,0 +1,30 @@
+package com.excel.shift.excel;
+
+/**
+ * 一行中的单元格，按列索引读取
+ * <p>
+ * 除了单元格文本，日期格式的数值单元格还保留了读取时的日期序列号，日期字段直接由序列号转换，不解析显示的文本；
+ * 按原始值读取数值单元格时，其他数值单元格保留原始的数值，不保存显示的文本。
+ */
+public interface RowCells {
+
+    /**
+     * 单元格文本，单元格不存在时返回null
+     */
+    String getText(int column);
+
+    /**
+     * 日期格式数值单元格的Excel日期序列号（1900日期系统，1904日期系统的工作簿已换算），其他单元格返回NaN
+     */
+    double getDateSerial(int column);
+
+    /**
+     * 数值单元格的原始值（不包括日期单元格），没有按原始值读取或不是数值单元格时返回NaN
+     */
+    double getNumber(int column);
+
+    /**
+     * 该行是否没有单元格
+     */
+    boolean isEmpty();
+}
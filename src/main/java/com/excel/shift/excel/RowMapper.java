@@ -0,0 +1,76 @@
+package com.excel.shift.excel;
+
+import com.excel.shift.convert.ConversionResult;
+
+/**
+ * 表格行映射器：把LIST类型的一行数据绑定到目标对象
+ * <p>
+ * 默认使用按提取计划逐列处理的通用实现；{@link RowMapperGenerator}可以在构建时根据配置文件为每个目标类生成专用的实现，
+ * 生成的代码按固定的列顺序直接调用setter，没有循环和接口分派，JIT可以内联整个行映射过程。
+ * 生成的类通过ServiceLoader注册，编译提取计划时只有列配置签名与当前配置一致才会使用，否则使用通用实现。
+ *
+ * @param <T> 目标类
+ */
+public interface RowMapper<T> {
+
+    /**
+     * 目标类
+     */
+    Class<T> getTargetClass();
+
+    /**
+     * 生成时列配置的签名（字段名、类型、列、是否合并单元格、正则表达式）
+     */
+    String getSignature();
+
+    /**
+     * 把一行数据绑定到对象
+     *
+     * @param bean 目标对象
+     * @param row  当前行
+     */
+    void mapRow(T bean, Row row);
+
+    /**
+     * 当前行，列按配置中的顺序编号（从0开始）
+     */
+    interface Row {
+
+        /**
+         * 列的值：读取单元格，合并单元格列为空时向上取值，应用正则表达式并转换类型
+         *
+         * @param index 列编号
+         * @return 转换后的值，单元格为空时返回null
+         */
+        Object value(int index) throws Exception;
+
+        /**
+         * 列的转换结果，与{@link #value}相同，但数值和布尔类型的结果保存为基本类型的值，不装箱。
+         * 返回的对象在下一次取值时被覆盖
+         *
+         * @param index 列编号
+         * @return 转换结果，单元格为空时没有值
+         */
+        ConversionResult convert(int index) throws Exception;
+
+        /**
+         * 生成的代码已经直接给字段赋值
+         */
+        void assigned();
+
+        /**
+         * 使用提取计划中的赋值器给字段赋值，值类型与字段类型不一致或字段没有setter时使用
+         */
+        void assign(int index, Object bean, Object value) throws Exception;
+
+        /**
+         * 使用提取计划中的赋值器写入转换结果，基本类型字段不装箱
+         */
+        void assign(int index, Object bean, ConversionResult result) throws Exception;
+
+        /**
+         * 记录列的错误，不影响其他列
+         */
+        void fail(int index, Exception e);
+    }
+}
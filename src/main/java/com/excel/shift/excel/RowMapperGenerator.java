@@ -0,0 +1,320 @@
+package com.excel.shift.excel;
+
+import com.excel.shift.config.ColumnConfig;
+import com.excel.shift.config.ExcelMappingConfig;
+import com.excel.shift.config.ExtractorConfig;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 根据配置文件生成LIST类型的行映射器源码（{@link RowMapper}的实现）
+ * <p>
+ * 每个LIST提取器（目标类 + 表格列配置）生成一个类，放在目标类所在的包中，按配置中的列顺序直接调用setter，
+ * 并在资源目录的META-INF/services中注册。目标类需要已经编译好，生成时通过反射确定字段类型和setter。
+ * <pre>
+ * java -cp target/classes:... com.excel.shift.excel.RowMapperGenerator &lt;源码输出目录&gt; &lt;资源输出目录&gt; &lt;配置文件&gt;...
+ * </pre>
+ * Maven中使用row-mappers profile：mvn -Prow-mappers -Drow-mappers.configs=src/main/resources/AllComplexEventsConfig.json package
+ */
+@Slf4j
+public final class RowMapperGenerator {
+
+    private static final String SERVICE_FILE = "META-INF/services/" + RowMapper.class.getName();
+
+    private final Path sourceDir;
+    private final Path resourceDir;
+    private final Set<String> generatedClasses = new LinkedHashSet<>();
+
+    public RowMapperGenerator(Path sourceDir, Path resourceDir) {
+        this.sourceDir = sourceDir;
+        this.resourceDir = resourceDir;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3) {
+            System.err.println("用法: RowMapperGenerator <源码输出目录> <资源输出目录> <配置文件>...");
+            System.exit(1);
+        }
+        RowMapperGenerator generator = new RowMapperGenerator(Paths.get(args[0]), Paths.get(args[1]));
+        for (int i = 2; i < args.length; i++) {
+            for (String configPath : args[i].split(",")) {
+                if (!configPath.trim().isEmpty()) {
+                    generator.generate(configPath.trim());
+                }
+            }
+        }
+        generator.writeServiceFile();
+    }
+
+    /**
+     * 为配置文件中的所有LIST提取器生成行映射器
+     *
+     * @param configPath 配置文件路径
+     */
+    public void generate(String configPath) throws IOException {
+        ExcelMappingConfig config = new ExcelMappingConfig(configPath);
+        if (config.getAllExtractors() == null) {
+            return;
+        }
+        for (ExtractorConfig extractor : config.getAllExtractors()) {
+            if (extractor.getResultType() != ExtractorConfig.ResultType.LIST || extractor.getTable() == null
+                    || extractor.getTable().getColumns() == null || extractor.getTable().getColumns().isEmpty()) {
+                continue;
+            }
+            Class<?> targetClass;
+            try {
+                targetClass = Class.forName(extractor.getTargetClass());
+            } catch (ClassNotFoundException | LinkageError e) {
+                log.warn("提取器[{}]的目标类{}无法加载，跳过: {}", extractor.getId(), extractor.getTargetClass(), e.getMessage());
+                continue;
+            }
+            if (targetClass.getCanonicalName() == null || Modifier.isPrivate(targetClass.getModifiers())) {
+                log.warn("提取器[{}]的目标类{}无法在生成的代码中引用，跳过", extractor.getId(), targetClass.getName());
+                continue;
+            }
+            if (BeanBinder.of(targetClass).isConstructorBound()) {
+                log.info("提取器[{}]的目标类{}通过构造函数创建，使用通用行映射器", extractor.getId(), targetClass.getName());
+                continue;
+            }
+            String className = targetClass.getSimpleName() + "RowMapper_" + identifier(extractor.getId());
+            String packageName = targetClass.getPackageName();
+            List<ColumnConfig> columns = new ArrayList<>(extractor.getTable().getColumns().values());
+            List<Setter> setters = new ArrayList<>();
+            for (ColumnConfig column : columns) {
+                Method setter = findSetter(targetClass, column.getJavaFieldName());
+                Class<?> parameterType = setter == null ? null : setter.getParameterTypes()[0];
+                setters.add(setter == null ? null
+                        : new Setter(setter.getName(), BeanBinder.wrap(parameterType).getCanonicalName(),
+                        parameterType.isPrimitive() ? parameterType.getName() : null));
+            }
+            String source = generateSource(packageName, className, targetClass.getCanonicalName(), columns, setters,
+                    "RowMapperGenerator根据" + configPath);
+            Path file = sourceDir.resolve(packageName.replace('.', '/')).resolve(className + ".java");
+            Files.createDirectories(file.getParent());
+            Files.write(file, source.getBytes(StandardCharsets.UTF_8));
+            generatedClasses.add(packageName.isEmpty() ? className : packageName + "." + className);
+            log.info("生成行映射器: {}", file);
+        }
+    }
+
+    /**
+     * 在资源目录中注册生成的类，保留文件中已有的条目
+     */
+    public void writeServiceFile() throws IOException {
+        Path file = resourceDir.resolve(SERVICE_FILE);
+        Set<String> lines = new LinkedHashSet<>();
+        if (Files.exists(file)) {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                if (!line.trim().isEmpty()) {
+                    lines.add(line.trim());
+                }
+            }
+        }
+        lines.addAll(generatedClasses);
+        Files.createDirectories(file.getParent());
+        Files.write(file, lines, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 列配置的签名，写入生成的类，编译提取计划时与当前配置比较
+     */
+    public static String signature(Collection<ColumnConfig> columns) {
+        StringBuilder builder = new StringBuilder();
+        for (ColumnConfig column : columns) {
+            builder.append(column.getJavaFieldName()).append('|')
+                    .append(column.getJavaFieldType()).append('|')
+                    .append(column.getColumnCell()).append('|')
+                    .append(Boolean.TRUE.equals(column.getIsMergeType())).append('|')
+                    .append(column.getExtractPattern()).append(';');
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 生成行映射器源码
+     *
+     * @param packageName 包名，与目标类相同
+     * @param className   生成的类名
+     * @param targetName  目标类在源码中的名称
+     * @param columns     表格列配置（配置中的顺序）
+     * @param setters     每列对应的setter，为null的列使用提取计划中的赋值器
+     * @param origin      写入类注释的来源说明
+     */
+    public static String generateSource(String packageName, String className, String targetName,
+                                        List<ColumnConfig> columns, List<Setter> setters, String origin) {
+        StringBuilder out = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            out.append("package ").append(packageName).append(";\n\n");
+        }
+        boolean primitive = false;
+        for (Setter setter : setters) {
+            primitive |= setter != null && setter.isPrimitive();
+        }
+        if (primitive) {
+            out.append("import com.excel.shift.convert.ConversionResult;\n");
+        }
+        out.append("import com.excel.shift.excel.RowMapper;\n\n");
+        out.append("/**\n");
+        out.append(" * 由").append(comment(origin)).append("生成，请勿手动修改\n");
+        out.append(" */\n");
+        out.append("public final class ").append(className).append(" implements RowMapper<").append(targetName).append("> {\n\n");
+        out.append("    @Override\n");
+        out.append("    public Class<").append(targetName).append("> getTargetClass() {\n");
+        out.append("        return ").append(targetName).append(".class;\n");
+        out.append("    }\n\n");
+        out.append("    @Override\n");
+        out.append("    public String getSignature() {\n");
+        out.append("        return \"").append(literal(signature(columns))).append("\";\n");
+        out.append("    }\n\n");
+        out.append("    @Override\n");
+        out.append("    public void mapRow(").append(targetName).append(" bean, Row row) {\n");
+        for (int i = 0; i < columns.size(); i++) {
+            ColumnConfig column = columns.get(i);
+            Setter setter = setters.get(i);
+            if (i > 0) {
+                out.append('\n');
+            }
+            out.append("        // ").append(comment(column.getJavaFieldName())).append(" <- ")
+                    .append(comment(column.getColumnCell())).append('\n');
+            out.append("        try {\n");
+            if (setter != null && setter.isPrimitive()) {
+                // 基本类型的setter：转换结果正好是这个基本类型时直接传入，不装箱
+                String accessor = "get" + Character.toUpperCase(setter.primitiveType.charAt(0)) + setter.primitiveType.substring(1);
+                out.append("            ConversionResult value = row.convert(").append(i).append(");\n");
+                out.append("            if (value.getPrimitiveType() == ").append(setter.primitiveType).append(".class) {\n");
+                out.append("                bean.").append(setter.methodName).append("(value.").append(accessor).append("());\n");
+                out.append("                row.assigned();\n");
+                out.append("            } else if (value.hasValue()) {\n");
+                out.append("                row.assign(").append(i).append(", bean, value);\n");
+                out.append("            }\n");
+                out.append("        } catch (Exception e) {\n");
+                out.append("            row.fail(").append(i).append(", e);\n");
+                out.append("        }\n");
+                continue;
+            }
+            out.append("            Object value = row.value(").append(i).append(");\n");
+            if (setter != null) {
+                out.append("            if (value instanceof ").append(setter.valueType).append(") {\n");
+                out.append("                bean.").append(setter.methodName).append("((").append(setter.valueType).append(") value);\n");
+                out.append("                row.assigned();\n");
+                out.append("            } else if (value != null) {\n");
+            } else {
+                out.append("            if (value != null) {\n");
+            }
+            out.append("                row.assign(").append(i).append(", bean, value);\n");
+            out.append("            }\n");
+            out.append("        } catch (Exception e) {\n");
+            out.append("            row.fail(").append(i).append(", e);\n");
+            out.append("        }\n");
+        }
+        out.append("    }\n");
+        out.append("}\n");
+        return out.toString();
+    }
+
+    /**
+     * 字段的public setter，字段不存在或没有可从生成的类中调用的setter时返回null（使用提取计划中的赋值器）
+     */
+    private static Method findSetter(Class<?> targetClass, String fieldName) {
+        if (fieldName == null) {
+            return null;
+        }
+        try {
+            Field field = targetClass.getDeclaredField(fieldName);
+            Method setter = BeanBinder.findSetter(targetClass, field);
+            if (setter == null) {
+                return null;
+            }
+            Class<?> declaringClass = setter.getDeclaringClass();
+            boolean accessible = Modifier.isPublic(declaringClass.getModifiers())
+                    || declaringClass.getPackageName().equals(targetClass.getPackageName());
+            return accessible ? setter : null;
+        } catch (NoSuchFieldException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 把提取器id转换为可以用在类名中的标识符
+     */
+    public static String identifier(String id) {
+        StringBuilder builder = new StringBuilder();
+        for (char c : String.valueOf(id).toCharArray()) {
+            builder.append(Character.isJavaIdentifierPart(c) ? c : '_');
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 转义为Java字符串字面量的内容
+     */
+    public static String literal(String value) {
+        StringBuilder builder = new StringBuilder();
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '\\':
+                    builder.append("\\\\");
+                    break;
+                case '"':
+                    builder.append("\\\"");
+                    break;
+                case '\n':
+                    builder.append("\\n");
+                    break;
+                case '\r':
+                    builder.append("\\r");
+                    break;
+                case '\t':
+                    builder.append("\\t");
+                    break;
+                default:
+                    builder.append(c);
+            }
+        }
+        return builder.toString();
+    }
+
+    private static String comment(String value) {
+        return literal(String.valueOf(value)).replace("*/", "*\\/");
+    }
+
+    /**
+     * 生成的代码中直接调用的setter
+     */
+    public static final class Setter {
+        private static final Set<String> PRIMITIVE_RESULTS = Set.of("int", "long", "float", "double", "boolean");
+
+        private final String methodName;
+        // 参数类型（基本类型为包装类型）在源码中的名称
+        private final String valueType;
+        // 参数为int、long、float、double、boolean时的基本类型名称，从转换结果中直接取基本类型的值；其他为null
+        private final String primitiveType;
+
+        public Setter(String methodName, String valueType) {
+            this(methodName, valueType, null);
+        }
+
+        public Setter(String methodName, String valueType, String primitiveType) {
+            this.methodName = methodName;
+            this.valueType = valueType;
+            this.primitiveType = primitiveType != null && PRIMITIVE_RESULTS.contains(primitiveType) ? primitiveType : null;
+        }
+
+        boolean isPrimitive() {
+            return primitiveType != null;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.excel.shift.excel;
+
+import com.excel.shift.config.ColumnConfig;
+import com.excel.shift.convert.ConversionResult;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+/**
+ * 行映射器的查找和通用实现
+ */
+@Slf4j
+final class RowMappers {
+
+    // 目标类 -> 通过ServiceLoader注册的生成的行映射器
+    private static final ClassValue<List<RowMapper<?>>> GENERATED = new ClassValue<>() {
+        @Override
+        protected List<RowMapper<?>> computeValue(Class<?> type) {
+            return loadGenerated(type);
+        }
+    };
+
+    private RowMappers() {
+    }
+
+    /**
+     * 目标类和列配置对应的行映射器：有签名一致的生成实现时使用生成的实现，否则使用通用实现
+     *
+     * @param targetClass 目标类
+     * @param columns     表格列配置（配置中的顺序）
+     */
+    @SuppressWarnings("unchecked")
+    static RowMapper<Object> forColumns(Class<?> targetClass, Collection<ColumnConfig> columns) {
+        if (BeanBinder.of(targetClass).isConstructorBound()) {
+            // 生成的代码直接调用setter，通过构造函数绑定的类型只能使用通用实现
+            return new PlanRowMapper(columns.size());
+        }
+        String signature = RowMapperGenerator.signature(columns);
+        for (RowMapper<?> mapper : GENERATED.get(targetClass)) {
+            if (signature.equals(mapper.getSignature())) {
+                log.debug("类{}使用生成的行映射器{}", targetClass.getName(), mapper.getClass().getName());
+                return (RowMapper<Object>) mapper;
+            }
+        }
+        return new PlanRowMapper(columns.size());
+    }
+
+    private static List<RowMapper<?>> loadGenerated(Class<?> type) {
+        List<RowMapper<?>> mappers = new ArrayList<>();
+        try {
+            for (RowMapper<?> mapper : ServiceLoader.load(RowMapper.class, type.getClassLoader())) {
+                if (mapper.getTargetClass() == type) {
+                    mappers.add(mapper);
+                }
+            }
+        } catch (ServiceConfigurationError e) {
+            log.warn("加载生成的行映射器失败，类{}使用通用实现: {}", type.getName(), e.getMessage());
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableList(mappers);
+    }
+
+    /**
+     * 通用实现：按配置顺序逐列取值并通过提取计划中的赋值器赋值，基本类型字段不装箱
+     */
+    private static final class PlanRowMapper implements RowMapper<Object> {
+        private final int columnCount;
+
+        PlanRowMapper(int columnCount) {
+            this.columnCount = columnCount;
+        }
+
+        @Override
+        public Class<Object> getTargetClass() {
+            return Object.class;
+        }
+
+        @Override
+        public String getSignature() {
+            return null;
+        }
+
+        @Override
+        public void mapRow(Object bean, Row row) {
+            for (int i = 0; i < columnCount; i++) {
+                try {
+                    ConversionResult value = row.convert(i);
+                    if (value.hasValue()) {
+                        row.assign(i, bean, value);
+                    }
+                } catch (Exception e) {
+                    row.fail(i, e);
+                }
+            }
+        }
+    }
+}
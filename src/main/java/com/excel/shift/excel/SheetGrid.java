@@ -0,0 +1,348 @@
+package com.excel.shift.excel;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * 紧凑的sheet数据存储，替代TreeMap&lt;Integer, Map&lt;Integer, String&gt;&gt;
+ * <p>
+ * 行按行号直接索引；每行只保存从第一个到最后一个有值单元格之间的连续区间。
+ * 单元格查找、行存在判断、最后一行/最后一列查询都是O(1)。
+ * 日期格式的数值单元格同时保存日期序列号（{@link #getDateSerial}），日期字段由序列号直接转换；
+ * 按原始值读取数值单元格时，其他数值单元格只保存原始值（{@link #getNumber}），文本在读取时由原始值生成。
+ * 默认存放在堆内（{@link HeapSheetStore}，字符串字典编码）；设置了内存预算并且超出后，
+ * 已有数据和后续数据转存到内存映射的临时文件（{@link MappedSheetStore}），随机访问语义不变。
+ * 使用完后需要调用close()删除临时文件。
+ */
+@Slf4j
+public class SheetGrid implements AutoCloseable {
+
+    private SheetStore store = new HeapSheetStore();
+
+    // 堆内存预算（字节），超过后转存到临时文件；小于等于0表示不限制
+    private long memoryBudget;
+    private boolean spilled = false;
+
+    private int firstRow = -1;
+    private int lastRow = -1;
+    private int lastColumn = -1;
+    private int rowCount = 0;
+    private long cellSlotCount = 0;
+    // 是否有只保存原始值的数值单元格，没有时读取文本不需要再查找数值
+    private boolean hasNumbers = false;
+    // 工作簿中的合并区域，没有读到合并单元格信息（CSV、提前结束读取的sheet）时为null
+    private MergeRegions mergeRegions;
+
+    public SheetGrid() {
+        this(0);
+    }
+
+    /**
+     * @param memoryBudget 堆内存预算（字节），小于等于0表示不限制
+     */
+    public SheetGrid(long memoryBudget) {
+        this.memoryBudget = memoryBudget;
+    }
+
+    /**
+     * 添加一行数据
+     *
+     * @param rowIndex       行索引（0-based）
+     * @param rowData        列索引 -> 单元格值
+     * @param lastDataColumn 该行最右侧的非空单元格列，-1表示没有数据
+     */
+    public void addRow(int rowIndex, Map<Integer, String> rowData, int lastDataColumn) {
+        addRow(rowIndex, rowData, null, null, lastDataColumn);
+    }
+
+    /**
+     * 添加一行数据，同时保存日期单元格的序列号和数值单元格的原始值
+     *
+     * @param rowIndex       行索引（0-based）
+     * @param rowData        列索引 -> 单元格值
+     * @param dateSerials    列索引 -> 日期序列号，不是日期单元格时为NaN；该行没有日期单元格时为null
+     * @param numbers        列索引 -> 数值单元格的原始值，不是数值单元格时为NaN；有原始值的单元格不保存文本；该行没有时为null
+     * @param lastDataColumn 该行最右侧的非空单元格列，-1表示没有数据
+     */
+    public void addRow(int rowIndex, Map<Integer, String> rowData, IntToDoubleFunction dateSerials,
+                       IntToDoubleFunction numbers, int lastDataColumn) {
+        int minColumn = Integer.MAX_VALUE;
+        int maxColumn = -1;
+        for (Map.Entry<Integer, String> cell : rowData.entrySet()) {
+            if (cell.getValue() != null) {
+                minColumn = Math.min(minColumn, cell.getKey());
+                maxColumn = Math.max(maxColumn, cell.getKey());
+            }
+        }
+        String[] cells;
+        double[] serials = null;
+        double[] rawNumbers = null;
+        if (maxColumn < 0) {
+            minColumn = 0;
+            cells = new String[0];
+        } else {
+            cells = new String[maxColumn - minColumn + 1];
+            for (Map.Entry<Integer, String> cell : rowData.entrySet()) {
+                if (cell.getValue() != null) {
+                    cells[cell.getKey() - minColumn] = cell.getValue();
+                    if (dateSerials != null) {
+                        serials = putSerial(serials, cells.length, cell.getKey() - minColumn,
+                                dateSerials.applyAsDouble(cell.getKey()));
+                    }
+                    if (numbers != null) {
+                        double number = numbers.applyAsDouble(cell.getKey());
+                        if (!Double.isNaN(number)) {
+                            rawNumbers = putSerial(rawNumbers, cells.length, cell.getKey() - minColumn, number);
+                            cells[cell.getKey() - minColumn] = null;
+                            hasNumbers = true;
+                        }
+                    }
+                }
+            }
+            lastColumn = Math.max(lastColumn, maxColumn);
+        }
+        if (!store.hasRow(rowIndex)) {
+            rowCount++;
+        }
+        store.addRow(rowIndex, minColumn, cells, serials, rawNumbers, lastDataColumn);
+        cellSlotCount += cells.length;
+        firstRow = firstRow < 0 ? rowIndex : Math.min(firstRow, rowIndex);
+        lastRow = Math.max(lastRow, rowIndex);
+
+        if (!spilled && memoryBudget > 0 && store.estimatedHeapBytes() > memoryBudget) {
+            spill();
+        }
+    }
+
+    /**
+     * 把已写入的数据转存到临时文件，之后的数据直接写入临时文件
+     */
+    private void spill() {
+        MappedSheetStore mappedStore;
+        try {
+            mappedStore = new MappedSheetStore();
+        } catch (IOException e) {
+            log.warn("创建sheet数据临时文件失败，继续使用堆内存: {}", e.getMessage());
+            memoryBudget = 0;
+            return;
+        }
+        for (int row = firstRow; row <= lastRow; row++) {
+            if (!store.hasRow(row)) {
+                continue;
+            }
+            int firstColumn = store.rowFirstColumn(row);
+            String[] cells = new String[store.rowSpan(row)];
+            double[] serials = null;
+            double[] rawNumbers = null;
+            for (int i = 0; i < cells.length; i++) {
+                cells[i] = store.getCellValue(row, firstColumn + i);
+                serials = putSerial(serials, cells.length, i, store.getDateSerial(row, firstColumn + i));
+                rawNumbers = putSerial(rawNumbers, cells.length, i, store.getNumber(row, firstColumn + i));
+            }
+            mappedStore.addRow(row, firstColumn, cells, serials, rawNumbers, store.lastDataColumn(row));
+        }
+        log.info("sheet数据超过内存预算{}字节，已将{}行转存到临时文件", memoryBudget, rowCount);
+        store.close();
+        store = mappedStore;
+        spilled = true;
+    }
+
+    /**
+     * 区间内第index个位置的日期序列号或数值，为NaN时不创建数组
+     */
+    private static double[] putSerial(double[] serials, int span, int index, double serial) {
+        if (Double.isNaN(serial)) {
+            return serials;
+        }
+        if (serials == null) {
+            serials = new double[span];
+            Arrays.fill(serials, Double.NaN);
+        }
+        serials[index] = serial;
+        return serials;
+    }
+
+    /**
+     * 获取单元格值，行或单元格不存在时返回null
+     */
+    public String getCellValue(int row, int col) {
+        String value = store.getCellValue(row, col);
+        if (value == null && hasNumbers) {
+            double number = store.getNumber(row, col);
+            if (!Double.isNaN(number)) {
+                return numberText(number);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * 数值单元格的原始值（不包括日期单元格），没有按原始值读取、不是数值单元格或单元格不存在时返回NaN
+     */
+    public double getNumber(int row, int col) {
+        return hasNumbers ? store.getNumber(row, col) : Double.NaN;
+    }
+
+    /**
+     * 只保存原始值的数值单元格的文本：不带显示格式和指数的十进制数，如12.5、1234
+     */
+    static String numberText(double number) {
+        return BigDecimal.valueOf(number).stripTrailingZeros().toPlainString();
+    }
+
+    /**
+     * 日期格式数值单元格的Excel日期序列号（1900日期系统），其他单元格或单元格不存在时返回NaN
+     */
+    public double getDateSerial(int row, int col) {
+        return store.getDateSerial(row, col);
+    }
+
+    /**
+     * 按列读取一行的视图
+     */
+    public RowCells row(int row) {
+        return new RowCells() {
+            @Override
+            public String getText(int column) {
+                return getCellValue(row, column);
+            }
+
+            @Override
+            public double getDateSerial(int column) {
+                return store.getDateSerial(row, column);
+            }
+
+            @Override
+            public double getNumber(int column) {
+                return SheetGrid.this.getNumber(row, column);
+            }
+
+            @Override
+            public boolean isEmpty() {
+                return !hasCells(row);
+            }
+        };
+    }
+
+    /**
+     * 设置工作簿中的合并区域，读完整个sheet后调用
+     */
+    void setMergeRegions(MergeRegions mergeRegions) {
+        this.mergeRegions = mergeRegions;
+    }
+
+    /**
+     * 是否读到了合并单元格信息，没有时只能按上方的非空值推断合并单元格
+     */
+    public boolean hasMergeInfo() {
+        return mergeRegions != null;
+    }
+
+    /**
+     * 合并单元格的值：单元格所在合并区域左上角单元格的值
+     *
+     * @param minRow 区域左上角在这一行之前时不取值
+     * @return 单元格不在合并区域中、本身就是左上角单元格或左上角在minRow之前时返回null
+     */
+    public String getMergedValue(int row, int col, int minRow) {
+        int region = mergeRegions == null ? -1 : mergeRegions.find(row, col);
+        if (region < 0) {
+            return null;
+        }
+        int anchorRow = mergeRegions.firstRow(region);
+        int anchorColumn = mergeRegions.firstColumn(region);
+        if ((anchorRow == row && anchorColumn == col) || anchorRow < minRow) {
+            return null;
+        }
+        String value = getCellValue(anchorRow, anchorColumn);
+        // 左上角的列未被配置引用时读取时已丢弃，再取同一列首行的值
+        return value != null || anchorRow == row ? value : getCellValue(anchorRow, col);
+    }
+
+    /**
+     * 该行是否存在（读取时收到过这一行）
+     */
+    public boolean hasRow(int row) {
+        return store.hasRow(row);
+    }
+
+    /**
+     * 该行是否存在并且保存了至少一个单元格
+     */
+    public boolean hasCells(int row) {
+        return store.rowSpan(row) > 0;
+    }
+
+    /**
+     * 该行最右侧非空单元格的列索引，行不存在或没有数据时返回-1
+     */
+    public int lastDataColumn(int row) {
+        return store.lastDataColumn(row);
+    }
+
+    /**
+     * 第一行的行索引，没有数据时返回-1
+     */
+    public int firstRow() {
+        return firstRow;
+    }
+
+    /**
+     * 最后一行的行索引，没有数据时返回-1
+     */
+    public int lastRow() {
+        return lastRow;
+    }
+
+    /**
+     * 保存的单元格中最大的列索引，没有数据时返回-1
+     */
+    public int lastColumn() {
+        return lastColumn;
+    }
+
+    public boolean isEmpty() {
+        return rowCount == 0;
+    }
+
+    /**
+     * 行数
+     */
+    public int rowCount() {
+        return rowCount;
+    }
+
+    /**
+     * 占用的单元格槽位数（包含行区间内的空位）
+     */
+    public long cellSlotCount() {
+        return cellSlotCount;
+    }
+
+    /**
+     * 是否已转存到临时文件
+     */
+    public boolean isSpilled() {
+        return spilled;
+    }
+
+    /**
+     * 写入完成后调用：释放写入期间使用的辅助结构
+     */
+    public void compact() {
+        store.compact();
+    }
+
+    /**
+     * 释放数据，删除临时文件
+     */
+    @Override
+    public void close() {
+        store.close();
+    }
+}
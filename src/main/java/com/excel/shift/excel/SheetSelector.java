@@ -0,0 +1,105 @@
+package com.excel.shift.excel;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.TreeSet;
+
+/**
+ * 选择需要提取的sheet：全部、按索引或按名称
+ * 不可变对象，可以在多个线程之间共享
+ */
+@Slf4j
+public final class SheetSelector {
+
+    private static final SheetSelector ALL = new SheetSelector(null, null);
+
+    private final int[] indexes;
+    private final String[] names;
+
+    private SheetSelector(int[] indexes, String[] names) {
+        this.indexes = indexes;
+        this.names = names;
+    }
+
+    /**
+     * 所有sheet
+     */
+    public static SheetSelector all() {
+        return ALL;
+    }
+
+    /**
+     * 按sheet索引（0-based）选择
+     */
+    public static SheetSelector index(int... sheetIndexes) {
+        Objects.requireNonNull(sheetIndexes, "sheet索引不能为空");
+        return new SheetSelector(sheetIndexes.clone(), null);
+    }
+
+    /**
+     * 按sheet名称选择，匹配规则与extractBySheetName相同：取第一个名称包含该字符串的sheet
+     */
+    public static SheetSelector name(String... sheetNames) {
+        Objects.requireNonNull(sheetNames, "sheet名称不能为空");
+        return new SheetSelector(null, sheetNames.clone());
+    }
+
+    public boolean isAll() {
+        return indexes == null && names == null;
+    }
+
+    /**
+     * 根据工作簿中的sheet名称列表得到需要提取的sheet索引，按索引升序并去重
+     * 不存在的索引或名称记录警告后跳过
+     */
+    List<Integer> resolve(List<String> sheetNames) {
+        TreeSet<Integer> selected = new TreeSet<>();
+        if (isAll()) {
+            for (int i = 0; i < sheetNames.size(); i++) {
+                selected.add(i);
+            }
+        } else if (indexes != null) {
+            for (int sheetIndex : indexes) {
+                if (sheetIndex < 0 || sheetIndex >= sheetNames.size()) {
+                    log.warn("sheet索引 {} 超出范围，共{}个sheet", sheetIndex, sheetNames.size());
+                    continue;
+                }
+                selected.add(sheetIndex);
+            }
+        } else {
+            for (String sheetName : names) {
+                int sheetIndex = findSheetIndex(sheetNames, sheetName);
+                if (sheetIndex == -1) {
+                    log.warn("未找到名称为 [{}] 的sheet", sheetName);
+                    continue;
+                }
+                selected.add(sheetIndex);
+            }
+        }
+        return new ArrayList<>(selected);
+    }
+
+    private static int findSheetIndex(List<String> sheetNames, String sheetName) {
+        if (sheetName == null) {
+            return -1;
+        }
+        for (int i = 0; i < sheetNames.size(); i++) {
+            if (sheetNames.get(i).contains(sheetName)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public String toString() {
+        if (isAll()) {
+            return "SheetSelector[all]";
+        }
+        return indexes != null ? "SheetSelector" + Arrays.toString(indexes) : "SheetSelector" + Arrays.toString(names);
+    }
+}
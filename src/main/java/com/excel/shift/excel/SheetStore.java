@@ -0,0 +1,62 @@
+package com.excel.shift.excel;
+
+/**
+ * SheetGrid的底层存储
+ * 每行保存从第一个到最后一个有值单元格之间的连续区间，按行号随机访问
+ */
+interface SheetStore extends AutoCloseable {
+
+    /**
+     * 写入一行
+     *
+     * @param rowIndex       行索引（0-based）
+     * @param firstColumn    区间的第一列
+     * @param cells          区间内的单元格值，没有值和只保存数值的位置为null；长度为0表示该行没有单元格
+     * @param dateSerials    与cells对应的日期序列号，不是日期单元格的位置为NaN；该行没有日期单元格时为null
+     * @param numbers        与cells对应的数值单元格原始值，不是数值单元格的位置为NaN；该行没有时为null
+     * @param lastDataColumn 该行最右侧的非空单元格列，-1表示没有数据
+     */
+    void addRow(int rowIndex, int firstColumn, String[] cells, double[] dateSerials, double[] numbers, int lastDataColumn);
+
+    boolean hasRow(int row);
+
+    /**
+     * 行区间的第一列，行不存在时返回0
+     */
+    int rowFirstColumn(int row);
+
+    /**
+     * 行区间的长度，行不存在时返回0
+     */
+    int rowSpan(int row);
+
+    int lastDataColumn(int row);
+
+    String getCellValue(int row, int col);
+
+    /**
+     * 日期单元格的日期序列号，其他单元格或单元格不存在时返回NaN
+     */
+    double getDateSerial(int row, int col);
+
+    /**
+     * 数值单元格的原始值，其他单元格或单元格不存在时返回NaN
+     */
+    double getNumber(int row, int col);
+
+    /**
+     * 当前占用内存的估算值（字节）
+     */
+    long estimatedHeapBytes();
+
+    /**
+     * 写入完成，释放写入期间使用的辅助结构
+     */
+    void compact();
+
+    /**
+     * 释放存储占用的资源（临时文件等）
+     */
+    @Override
+    void close();
+}
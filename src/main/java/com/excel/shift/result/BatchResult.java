@@ -0,0 +1,61 @@
+package com.excel.shift.result;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 批量提取结果
+ * 每个文件一个结果，顺序与输入的文件列表一致
+ */
+public class BatchResult {
+
+    private final List<FileExtractionResult> fileResults;
+
+    private final BatchStatistics statistics;
+
+    public BatchResult(List<FileExtractionResult> fileResults, BatchStatistics statistics) {
+        this.fileResults = Collections.unmodifiableList(fileResults);
+        this.statistics = statistics;
+    }
+
+    /**
+     * 获取所有文件的结果
+     * @return 与输入顺序一致的文件结果列表
+     */
+    public List<FileExtractionResult> getFileResults() {
+        return fileResults;
+    }
+
+    /**
+     * 获取指定位置文件的结果
+     * @param fileIndex 文件在输入列表中的位置
+     * @return 文件结果
+     */
+    public FileExtractionResult getFileResult(int fileIndex) {
+        return fileResults.get(fileIndex);
+    }
+
+    /**
+     * 获取提取失败的文件
+     * @return 失败的文件结果列表
+     */
+    public List<FileExtractionResult> getFailedFileResults() {
+        return fileResults.stream()
+                .filter(result -> !result.isSuccess())
+                .collect(Collectors.toList());
+    }
+
+    public BatchStatistics getStatistics() {
+        return statistics;
+    }
+
+    public int size() {
+        return fileResults.size();
+    }
+
+    @Override
+    public String toString() {
+        return "BatchResult{" + statistics + '}';
+    }
+}
@@ -0,0 +1,87 @@
+package com.excel.shift.result;
+
+/**
+ * 批量提取的汇总统计
+ */
+public class BatchStatistics {
+
+    private final int fileCount;
+    private final int successCount;
+    private final int failedCount;
+    private final long sheetCount;
+    // 整个批次的耗时（毫秒）
+    private final long elapsedMillis;
+    // 所有文件提取耗时之和（毫秒），与elapsedMillis的比值即实际并发度
+    private final long totalFileMillis;
+
+    public BatchStatistics(int fileCount, int successCount, int failedCount, long sheetCount,
+                           long elapsedMillis, long totalFileMillis) {
+        this.fileCount = fileCount;
+        this.successCount = successCount;
+        this.failedCount = failedCount;
+        this.sheetCount = sheetCount;
+        this.elapsedMillis = elapsedMillis;
+        this.totalFileMillis = totalFileMillis;
+    }
+
+    public int getFileCount() {
+        return fileCount;
+    }
+
+    public int getSuccessCount() {
+        return successCount;
+    }
+
+    public int getFailedCount() {
+        return failedCount;
+    }
+
+    public long getSheetCount() {
+        return sheetCount;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public long getTotalFileMillis() {
+        return totalFileMillis;
+    }
+
+    /**
+     * 吞吐量：每秒处理的文件数
+     * @return 文件数/秒
+     */
+    public double getFilesPerSecond() {
+        return elapsedMillis == 0 ? fileCount : fileCount * 1000.0 / elapsedMillis;
+    }
+
+    /**
+     * 吞吐量：每秒处理的sheet数
+     * @return sheet数/秒
+     */
+    public double getSheetsPerSecond() {
+        return elapsedMillis == 0 ? sheetCount : sheetCount * 1000.0 / elapsedMillis;
+    }
+
+    /**
+     * 单个文件的平均提取耗时
+     * @return 平均耗时（毫秒）
+     */
+    public double getAverageFileMillis() {
+        return fileCount == 0 ? 0.0 : (double) totalFileMillis / fileCount;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchStatistics{" +
+                "files=" + fileCount +
+                ", success=" + successCount +
+                ", failed=" + failedCount +
+                ", sheets=" + sheetCount +
+                ", elapsedMillis=" + elapsedMillis +
+                ", filesPerSecond=" + String.format("%.2f", getFilesPerSecond()) +
+                ", avgFileMillis=" + String.format("%.2f", getAverageFileMillis()) +
+                '}';
+    }
+}
@@ -0,0 +1,87 @@
+package com.excel.shift.result;
+
+/**
+ * 批量提取中单个文件的提取结果
+ */
+public class FileExtractionResult {
+
+    // 文件在批量输入列表中的位置
+    private final int fileIndex;
+
+    // 数据来源的描述（文件路径或内存数据的类型和长度）
+    private final String sourceName;
+
+    // 提取结果，提取失败时为null
+    private final ExtractionResult extractionResult;
+
+    // 提取失败的原因，成功时为null
+    private final Exception error;
+
+    // 提取耗时（毫秒）
+    private final long elapsedMillis;
+
+    public FileExtractionResult(int fileIndex, String sourceName, ExtractionResult extractionResult,
+                                Exception error, long elapsedMillis) {
+        this.fileIndex = fileIndex;
+        this.sourceName = sourceName;
+        this.extractionResult = extractionResult;
+        this.error = error;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    /**
+     * 文件是否提取成功（至少提取了一个sheet；单个sheet的失败记录在提取结果中）
+     * @return 是否成功
+     */
+    public boolean isSuccess() {
+        return error == null && extractionResult != null;
+    }
+
+    public int getFileIndex() {
+        return fileIndex;
+    }
+
+    public String getSourceName() {
+        return sourceName;
+    }
+
+    /**
+     * 获取提取结果
+     * @return 提取结果，提取失败时为null
+     */
+    public ExtractionResult getExtractionResult() {
+        return extractionResult;
+    }
+
+    /**
+     * 获取失败原因
+     * @return 失败原因，成功时为null
+     */
+    public Exception getError() {
+        return error;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * 提取到的sheet数量
+     * @return sheet数量，失败时为0
+     */
+    public int getSheetCount() {
+        return extractionResult == null ? 0 : extractionResult.size();
+    }
+
+    @Override
+    public String toString() {
+        return "FileExtractionResult{" +
+                "fileIndex=" + fileIndex +
+                ", source='" + sourceName + '\'' +
+                ", success=" + isSuccess() +
+                ", sheets=" + getSheetCount() +
+                ", elapsedMillis=" + elapsedMillis +
+                (error == null ? "" : ", error='" + error.getMessage() + '\'') +
+                '}';
+    }
+}
@@ -31,6 +31,12 @@ public class SheetExtractionResult {
     // 存储提取过程中的错误信息，使用LinkedHashSet防止重复并保持顺序
     private final Set<ExtractionError> errors = new LinkedHashSet<>();
 
+    // 读取时保留的单元格数量
+    private long keptCellCount;
+
+    // 读取时因未被配置引用而丢弃的单元格数量
+    private long discardedCellCount;
+
     public SheetExtractionResult(int sheetIndex, String sheetName) {
         this.sheetIndex = sheetIndex;
         this.sheetName = sheetName;
@@ -116,6 +122,32 @@ public class SheetExtractionResult {
         isSuccess = success;
     }
 
+    /**
+     * 获取读取时保留的单元格数量
+     * @return 保留的单元格数量
+     */
+    public long getKeptCellCount() {
+        return keptCellCount;
+    }
+
+    /**
+     * 获取读取时因列投影丢弃的单元格数量
+     * @return 丢弃的单元格数量
+     */
+    public long getDiscardedCellCount() {
+        return discardedCellCount;
+    }
+
+    /**
+     * 记录读取时的单元格统计
+     * @param keptCellCount 保留的单元格数量
+     * @param discardedCellCount 丢弃的单元格数量
+     */
+    public void setCellStatistics(long keptCellCount, long discardedCellCount) {
+        this.keptCellCount = keptCellCount;
+        this.discardedCellCount = discardedCellCount;
+    }
+
     /**
      * 获取结果数量
      * @return 提取的类型数量
@@ -138,6 +138,13 @@ public class DynamicExpressionResolver {
     }
 
 
+    /**
+     * 是否还有未找到的开始/结束标志
+     */
+    public boolean hasPendingRowFlags() {
+        return !dynamicEndRowTableClass.isEmpty() || !dynamicStartRowTableClass.isEmpty();
+    }
+
     public void updateDynamicRowTablePosition(int rowIndex, Map<Integer, String> rowData) {
         if (dynamicEndRowTableClass.isEmpty()) {
             return;
@@ -5,15 +5,14 @@ import java.util.regex.Pattern;
 
 public class ExpressionExtractor {
 
+    // 正则表达式：匹配 ${} 中的内容，只编译一次
+    private static final Pattern EXPRESSION_PATTERN = Pattern.compile("\\$\\{(.*?)\\}");
+
     // 提取字符串中 ${} 中的内容
     public static String extractExpression(String input) {
         if(input == null) return null;
-        // 正则表达式：提取 ${} 中的内容
-        String regex = "\\$\\{(.*?)\\}";
-
         // 创建匹配器
-        Pattern pattern = Pattern.compile(regex);
-        Matcher matcher = pattern.matcher(input);
+        Matcher matcher = EXPRESSION_PATTERN.matcher(input);
 
         // 如果匹配成功，返回提取的内容
         if (matcher.find()) {
@@ -25,10 +24,7 @@ public class ExpressionExtractor {
 
     // 替换字符串中的 ${} 中的表达式
     public static String replaceExpression(String input, String newValue) {
-        // 正则表达式：匹配所有 ${} 中的内容
-        String regex = "\\$\\{(.*?)\\}";
-
         // 使用 replaceAll 方法替换 ${} 中的表达式为新的值
-        return input.replaceAll(regex, Matcher.quoteReplacement(newValue));
+        return EXPRESSION_PATTERN.matcher(input).replaceAll(Matcher.quoteReplacement(newValue));
     }
 }
@@ -0,0 +1,404 @@
+package com.excel.shift.util;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 配置中的extractPattern：从单元格文本中提取值
+ * <p>
+ * 与Matcher.find()的结果相同：有捕获组时返回第一个捕获组，否则返回整个匹配，没有匹配时返回null。
+ * 编译时分析正则表达式，常见的简单形式由手写的匹配器处理，不经过java.util.regex：
+ * <pre>
+ * ^(\d+)          开头的数字
+ * ([\d.]+)m       去掉后缀
+ * lbf\.(\w+)      去掉前缀
+ * 井名：(.*)       前缀后面的内容
+ * (\d+)  \d+  [\d,.]+
+ * </pre>
+ * 即 [^]前缀(字符类+或*)后缀，字符类为.、\d、\w、单个字符或由它们和范围组成的[...]，前缀、后缀为普通字符，
+ * 后缀的第一个字符不能属于字符类。其他正则表达式使用java.util.regex。
+ * 实例不可变，可以在多个线程之间共享。
+ */
+public abstract class ExtractPattern {
+
+    private final String pattern;
+
+    private ExtractPattern(String pattern) {
+        this.pattern = pattern;
+    }
+
+    /**
+     * 编译正则表达式
+     *
+     * @param regex 正则表达式
+     * @return 编译后的提取模式
+     * @throws java.util.regex.PatternSyntaxException 正则表达式无效
+     */
+    public static ExtractPattern compile(String regex) {
+        // 先用java.util.regex检查语法，错误信息与之前一致
+        Pattern compiled = Pattern.compile(regex);
+        ExtractPattern simple = RunPattern.analyze(regex);
+        return simple != null ? simple : new RegexPattern(regex, compiled);
+    }
+
+    /**
+     * 提取值
+     *
+     * @param input 单元格文本
+     * @return 第一个捕获组（没有捕获组时为整个匹配），没有匹配时返回null
+     */
+    public abstract String extract(String input);
+
+    /**
+     * 正则表达式原文
+     */
+    public String pattern() {
+        return pattern;
+    }
+
+    /**
+     * 是否由手写的匹配器处理
+     */
+    public boolean isSimple() {
+        return !(this instanceof RegexPattern);
+    }
+
+    @Override
+    public String toString() {
+        return pattern;
+    }
+
+    /**
+     * 使用java.util.regex
+     */
+    private static final class RegexPattern extends ExtractPattern {
+        private final Pattern compiled;
+
+        private RegexPattern(String pattern, Pattern compiled) {
+            super(pattern);
+            this.compiled = compiled;
+        }
+
+        @Override
+        public String extract(String input) {
+            Matcher m = compiled.matcher(input);
+            if (m.find()) {
+                if (m.groupCount() > 0) {
+                    return m.group(1);
+                } else {
+                    return m.group();
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * [^]前缀(字符类+)后缀：字符类的最长连续字符，后缀的第一个字符不在字符类中，因此不需要回溯
+     */
+    private static final class RunPattern extends ExtractPattern {
+        private final boolean anchored;
+        private final String prefix;
+        private final CharClass charClass;
+        private final String suffix;
+        // 字符类最少重复次数：+为1，*为0
+        private final int min;
+        // 有捕获组时只返回字符类部分
+        private final boolean grouped;
+
+        private RunPattern(String pattern, boolean anchored, String prefix, CharClass charClass, int min,
+                           String suffix, boolean grouped) {
+            super(pattern);
+            this.anchored = anchored;
+            this.prefix = prefix;
+            this.charClass = charClass;
+            this.min = min;
+            this.suffix = suffix;
+            this.grouped = grouped;
+        }
+
+        @Override
+        public String extract(String input) {
+            int length = input.length();
+            int from = 0;
+            while (from <= length) {
+                int start;
+                if (prefix.isEmpty()) {
+                    start = from;
+                    // 没有前缀、至少一个字符时从字符类的下一段连续字符开始
+                    while (min > 0 && start < length && !charClass.matches(input.charAt(start))) {
+                        start++;
+                    }
+                    if ((min > 0 && start == length) || (anchored && start != 0)) {
+                        return null;
+                    }
+                } else {
+                    int found = input.indexOf(prefix, from);
+                    if (found < 0 || (anchored && found != 0)) {
+                        return null;
+                    }
+                    start = found + prefix.length();
+                }
+                int end = start;
+                while (end < length && charClass.matches(input.charAt(end))) {
+                    end++;
+                }
+                if (end - start >= min && input.startsWith(suffix, end)) {
+                    return grouped ? input.substring(start, end) : input.substring(start - prefix.length(), end + suffix.length());
+                }
+                if (anchored) {
+                    return null;
+                }
+                // 没有前缀时同一段中更靠后的开始位置结束位置相同，同样不能匹配，直接跳过整段
+                from = prefix.isEmpty() ? Math.max(end, start + 1) : start - prefix.length() + 1;
+            }
+            return null;
+        }
+
+        /**
+         * 分析正则表达式，不是这种形式时返回null
+         */
+        static RunPattern analyze(String regex) {
+            Parser parser = new Parser(regex);
+            boolean anchored = parser.consume('^');
+            String prefix = parser.literal();
+            boolean grouped = parser.consume('(');
+            CharClass charClass = parser.charClass();
+            if (charClass == null) {
+                return null;
+            }
+            int min;
+            if (parser.consume('+')) {
+                min = 1;
+            } else if (parser.consume('*')) {
+                min = 0;
+            } else {
+                return null;
+            }
+            if (parser.peek('?') || parser.peek('+')) {
+                // 懒惰或占有量词
+                return null;
+            }
+            if (grouped && !parser.consume(')')) {
+                return null;
+            }
+            String suffix = parser.literal();
+            if (prefix == null || suffix == null || !parser.atEnd()) {
+                return null;
+            }
+            if (!suffix.isEmpty() && charClass.matches(suffix.charAt(0))) {
+                return null;
+            }
+            return new RunPattern(regex, anchored, prefix, charClass, min, suffix, grouped);
+        }
+    }
+
+    /**
+     * 字符类：ASCII字符用位图表示（\d、\w都是ASCII），其他字符保存为范围
+     */
+    private static final class CharClass {
+        // .：除行结束符以外的任意字符
+        private boolean dot;
+        private long low;
+        private long high;
+        // 非ASCII字符的范围，每两个字符为一个闭区间
+        private String ranges = "";
+
+        boolean matches(char c) {
+            if (dot) {
+                return c != '\n' && c != '\r' && c != '\u0085' && c != '\u2028' && c != '\u2029';
+            }
+            if (c < 64) {
+                return (low & (1L << c)) != 0;
+            }
+            if (c < 128) {
+                return (high & (1L << (c - 64))) != 0;
+            }
+            for (int i = 0; i < ranges.length(); i += 2) {
+                if (c >= ranges.charAt(i) && c <= ranges.charAt(i + 1)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void add(char c) {
+            addRange(c, c);
+        }
+
+        void addRange(char from, char to) {
+            for (int c = from; c <= to && c < 128; c++) {
+                if (c < 64) {
+                    low |= 1L << c;
+                } else {
+                    high |= 1L << (c - 64);
+                }
+            }
+            if (to >= 128) {
+                ranges += String.valueOf((char) Math.max(from, 128)) + to;
+            }
+        }
+
+        void addDigits() {
+            addRange('0', '9');
+        }
+
+        void addWord() {
+            addRange('a', 'z');
+            addRange('A', 'Z');
+            addRange('0', '9');
+            add('_');
+        }
+    }
+
+    /**
+     * 只识别简单形式的正则表达式解析器，无法识别时返回null，由java.util.regex处理
+     */
+    private static final class Parser {
+        private static final String META = "\\^$.|?*+()[]{}";
+        private final String regex;
+        private int pos;
+
+        Parser(String regex) {
+            this.regex = regex;
+        }
+
+        boolean atEnd() {
+            return pos == regex.length();
+        }
+
+        boolean peek(char c) {
+            return pos < regex.length() && regex.charAt(pos) == c;
+        }
+
+        boolean consume(char c) {
+            if (peek(c)) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * 普通字符和转义的标点，到元字符为止；后面紧跟量词的字符不是普通字符，返回null
+         */
+        String literal() {
+            StringBuilder builder = new StringBuilder();
+            while (pos < regex.length()) {
+                char c = regex.charAt(pos);
+                int next;
+                char value;
+                if (c == '\\') {
+                    if (pos + 1 >= regex.length()) {
+                        return null;
+                    }
+                    char escaped = regex.charAt(pos + 1);
+                    if (Character.isLetterOrDigit(escaped)) {
+                        // \d、\w、\Q等不是普通字符
+                        break;
+                    }
+                    value = escaped;
+                    next = pos + 2;
+                } else if (META.indexOf(c) >= 0 || Character.isSurrogate(c)) {
+                    break;
+                } else {
+                    value = c;
+                    next = pos + 1;
+                }
+                if (next < regex.length() && "?*+{".indexOf(regex.charAt(next)) >= 0) {
+                    return null;
+                }
+                builder.append(value);
+                pos = next;
+            }
+            return builder.toString();
+        }
+
+        /**
+         * .、\d、\w、单个普通字符或[...]
+         */
+        CharClass charClass() {
+            if (pos >= regex.length()) {
+                return null;
+            }
+            CharClass charClass = new CharClass();
+            char c = regex.charAt(pos);
+            if (c == '.') {
+                charClass.dot = true;
+                pos++;
+                return charClass;
+            }
+            if (c == '\\') {
+                if (!escapeInto(charClass)) {
+                    return null;
+                }
+                return charClass;
+            }
+            if (c == '[') {
+                pos++;
+                if (peek('^') || peek(']')) {
+                    return null;
+                }
+                while (!peek(']')) {
+                    if (pos >= regex.length()) {
+                        return null;
+                    }
+                    c = regex.charAt(pos);
+                    if (c == '\\') {
+                        if (!escapeInto(charClass)) {
+                            return null;
+                        }
+                        continue;
+                    }
+                    if (c == '[' || c == '&' || Character.isSurrogate(c)) {
+                        return null;
+                    }
+                    if (c == '-' && regex.charAt(pos - 1) != '[' && pos + 1 < regex.length() && regex.charAt(pos + 1) != ']') {
+                        // 不在开头或结尾的'-'（如[\d-z]），交给java.util.regex
+                        return null;
+                    }
+                    pos++;
+                    if (peek('-') && pos + 1 < regex.length() && regex.charAt(pos + 1) != ']') {
+                        char to = regex.charAt(pos + 1);
+                        if (to == '\\' || to == '[' || to < c || Character.isSurrogate(to)) {
+                            return null;
+                        }
+                        charClass.addRange(c, to);
+                        pos += 2;
+                    } else {
+                        charClass.add(c);
+                    }
+                }
+                pos++;
+                return charClass;
+            }
+            if (META.indexOf(c) >= 0 || Character.isSurrogate(c)) {
+                return null;
+            }
+            charClass.add(c);
+            pos++;
+            return charClass;
+        }
+
+        /**
+         * \d、\w或转义的标点
+         */
+        private boolean escapeInto(CharClass charClass) {
+            if (pos + 1 >= regex.length()) {
+                return false;
+            }
+            char escaped = regex.charAt(pos + 1);
+            if (escaped == 'd') {
+                charClass.addDigits();
+            } else if (escaped == 'w') {
+                charClass.addWord();
+            } else if (!Character.isLetterOrDigit(escaped)) {
+                charClass.add(escaped);
+            } else {
+                return false;
+            }
+            pos += 2;
+            return true;
+        }
+    }
+}